@@ -0,0 +1,150 @@
+import java.awt.Component;
+import java.awt.Frame;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Owns the animations (timers and threads) of a window. An animation runs only
+ * while its component is showing and the window is focused and not minimized;
+ * it is paused otherwise and disposed for good once its component is removed
+ * from the window, e.g. when the content pane is replaced. All methods must be
+ * called on the event dispatch thread.
+ */
+public class AnimationController {
+
+    /**
+     * Something driven by a timer or a thread.
+     */
+    public interface Animation {
+        default void pause() {
+        }
+
+        default void resume() {
+        }
+
+        /**
+         * Stops the animation permanently and releases its resources.
+         */
+        void dispose();
+    }
+
+    private final List<Entry> entries = new ArrayList<>();
+    private boolean focused;
+    private boolean iconified;
+
+    public AnimationController(Frame window) {
+        focused = window.isFocused();
+        iconified = (window.getExtendedState() & Frame.ICONIFIED) != 0;
+        WindowAdapter windowListener = new WindowAdapter() {
+            @Override
+            public void windowGainedFocus(WindowEvent e) {
+                focused = true;
+                update();
+            }
+
+            @Override
+            public void windowLostFocus(WindowEvent e) {
+                focused = false;
+                update();
+            }
+
+            @Override
+            public void windowStateChanged(WindowEvent e) {
+                iconified = (e.getNewState() & Frame.ICONIFIED) != 0;
+                update();
+            }
+
+            @Override
+            public void windowClosed(WindowEvent e) {
+                disposeAll();
+            }
+        };
+        window.addWindowFocusListener(windowListener);
+        window.addWindowStateListener(windowListener);
+        window.addWindowListener(windowListener);
+    }
+
+    /**
+     * Puts an animation under the control of this window. It is paused right
+     * away if its component is not currently displayed.
+     *
+     * @param component The component showing the animation.
+     * @param animation The animation, assumed to be running.
+     */
+    public void register(Component component, Animation animation) {
+        Entry entry = new Entry(component, animation);
+        entries.add(entry);
+        component.addHierarchyListener(entry);
+        entry.update();
+    }
+
+    /**
+     * Disposes every animation, e.g. when the window closes.
+     */
+    public void disposeAll() {
+        for (Entry entry : new ArrayList<>(entries)) {
+            entry.dispose();
+        }
+    }
+
+    /**
+     * @return The number of animations not yet disposed.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private void update() {
+        for (Entry entry : entries) {
+            entry.update();
+        }
+    }
+
+    private class Entry implements HierarchyListener {
+        private final Component component;
+        private final Animation animation;
+        private boolean running = true;
+        private boolean displayed;
+
+        Entry(Component component, Animation animation) {
+            this.component = component;
+            this.animation = animation;
+        }
+
+        @Override
+        public void hierarchyChanged(HierarchyEvent e) {
+            if ((e.getChangeFlags() & HierarchyEvent.DISPLAYABILITY_CHANGED) != 0
+                    && displayed && !component.isDisplayable()) {
+                // Removed from the window after having been displayed: never coming back
+                dispose();
+            } else if ((e.getChangeFlags() & (HierarchyEvent.SHOWING_CHANGED
+                    | HierarchyEvent.DISPLAYABILITY_CHANGED)) != 0) {
+                update();
+            }
+        }
+
+        void update() {
+            if (component.isDisplayable()) {
+                displayed = true;
+            }
+            boolean visible = component.isShowing() && focused && !iconified;
+            if (visible && !running) {
+                animation.resume();
+                running = true;
+            } else if (!visible && running) {
+                animation.pause();
+                running = false;
+            }
+        }
+
+        void dispose() {
+            component.removeHierarchyListener(this);
+            entries.remove(this);
+            animation.dispose();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+import javax.imageio.ImageIO;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.awt.Font;
+import java.awt.FontFormatException;
+import java.awt.GraphicsEnvironment;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared fonts, images and sounds. Each asset is read from disk and decoded
+ * once, on background threads, and the same instance is handed out afterwards;
+ * fonts are registered with the graphics environment once and their derived
+ * sizes are cached too. {@link #preload()} starts loading everything the
+ * screens use, in parallel, so that building a screen on the EDT normally finds
+ * its assets ready instead of parsing files.
+ */
+public final class AssetManager {
+    public static final String TITLE_FONT = "font/Magic_Sound.ttf";
+    public static final String PLAYER_FONT = "font/MagicNeys.otf";
+    public static final String DK_FONT = "font/DK.otf";
+    public static final String DISPLAY_FONT = "font/Montserrat.ttf";
+    public static final String PRESENTER_IMAGE = "Assets/presentateur.png";
+    public static final String WELCOME_SOUND = "Assets/bienvenue.wav";
+
+    private static final String[] FONTS = { TITLE_FONT, PLAYER_FONT, DK_FONT, DISPLAY_FONT };
+    private static final String[] IMAGES = { PRESENTER_IMAGE };
+    private static final String[] SOUNDS = { WELCOME_SOUND };
+
+    // Presenter zoom on hover: 250 px at rest, 300 px under the mouse
+    public static final int PRESENTER_MIN_SIZE = 250;
+    public static final int PRESENTER_MAX_SIZE = 300;
+    public static final int PRESENTER_ZOOM_STEPS = 6;
+
+    private static final ConcurrentMap<String, CompletableFuture<Font>> fonts = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Font> derivedFonts = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, CompletableFuture<BufferedImage>> images = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, CompletableFuture<Sound>> sounds = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, CompletableFuture<ScaledImageChain>> imageChains = new ConcurrentHashMap<>();
+
+    private static final ExecutorService loader = createLoader();
+
+    /**
+     * A decoded sound: raw PCM frames and their format, ready to open a Clip.
+     */
+    public static final class Sound {
+        private final AudioFormat format;
+        private final byte[] data;
+
+        Sound(AudioFormat format, byte[] data) {
+            this.format = format;
+            this.data = data;
+        }
+
+        public AudioFormat getFormat() {
+            return format;
+        }
+
+        /**
+         * @return The PCM frames; shared, must not be modified.
+         */
+        public byte[] getData() {
+            return data;
+        }
+    }
+
+    private AssetManager() {
+    }
+
+    /**
+     * Starts loading every asset used by the screens, in parallel, without
+     * waiting for them.
+     *
+     * @return A future completed once everything has been loaded (or has failed).
+     */
+    public static CompletableFuture<Void> preload() {
+        CompletableFuture<?>[] all = new CompletableFuture<?>[FONTS.length + IMAGES.length + SOUNDS.length + 1];
+        int i = 0;
+        for (String path : FONTS) {
+            all[i++] = fontAsync(path);
+        }
+        for (String path : IMAGES) {
+            all[i++] = imageAsync(path);
+        }
+        for (String path : SOUNDS) {
+            all[i++] = soundAsync(path);
+        }
+        all[i] = imageChainAsync(PRESENTER_IMAGE, PRESENTER_MIN_SIZE, PRESENTER_MAX_SIZE, PRESENTER_ZOOM_STEPS);
+        return CompletableFuture.allOf(all);
+    }
+
+    /**
+     * Returns a font at the given size, falling back to SansSerif if the file
+     * cannot be loaded. Waits if the font is still loading.
+     *
+     * @param path Path of the TrueType/OpenType file.
+     * @param size Point size.
+     */
+    public static Font font(String path, float size) {
+        String key = path + '@' + size;
+        Font font = derivedFonts.get(key);
+        if (font == null) {
+            Font base = fontAsync(path).join();
+            font = base != null ? base.deriveFont(size) : new Font("SansSerif", Font.PLAIN, (int) size);
+            Font previous = derivedFonts.putIfAbsent(key, font);
+            if (previous != null) {
+                font = previous;
+            }
+        }
+        return font;
+    }
+
+    /**
+     * Returns a shared image, or null if it cannot be loaded. Waits if the
+     * image is still loading. The image must not be modified.
+     */
+    public static BufferedImage image(String path) {
+        return imageAsync(path).join();
+    }
+
+    /**
+     * Returns an image pre-scaled to a series of square sizes, or null if the
+     * image cannot be loaded. Waits if the images are still being scaled.
+     */
+    public static ScaledImageChain imageChain(String path, int minSize, int maxSize, int steps) {
+        return imageChainAsync(path, minSize, maxSize, steps).join();
+    }
+
+    /**
+     * Returns a decoded sound, or null if it cannot be loaded. Waits if the
+     * sound is still loading.
+     */
+    public static Sound sound(String path) {
+        return soundAsync(path).join();
+    }
+
+    public static CompletableFuture<Font> fontAsync(String path) {
+        return fonts.computeIfAbsent(path, p -> CompletableFuture.supplyAsync(() -> loadFont(p), loader));
+    }
+
+    public static CompletableFuture<BufferedImage> imageAsync(String path) {
+        return images.computeIfAbsent(path, p -> CompletableFuture.supplyAsync(() -> loadImage(p), loader));
+    }
+
+    public static CompletableFuture<ScaledImageChain> imageChainAsync(String path, int minSize, int maxSize,
+            int steps) {
+        String key = path + '@' + minSize + '-' + maxSize + '/' + steps;
+        return imageChains.computeIfAbsent(key, k -> imageAsync(path).thenApplyAsync(
+                image -> image != null ? new ScaledImageChain(image, minSize, maxSize, steps) : null, loader));
+    }
+
+    public static CompletableFuture<Sound> soundAsync(String path) {
+        return sounds.computeIfAbsent(path, p -> CompletableFuture.supplyAsync(() -> loadSound(p), loader));
+    }
+
+    private static Font loadFont(String path) {
+        try {
+            Font font = Font.createFont(Font.TRUETYPE_FONT, new File(path));
+            GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
+            ge.registerFont(font);
+            return font;
+        } catch (FontFormatException | IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    private static BufferedImage loadImage(String path) {
+        try {
+            return ImageIO.read(new File(path));
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    private static Sound loadSound(String path) {
+        File file = new File(path);
+        if (!file.isFile()) {
+            System.err.println("Sound not found: " + path);
+            return null;
+        }
+        try (AudioInputStream stream = AudioSystem.getAudioInputStream(file)) {
+            return new Sound(stream.getFormat(), stream.readAllBytes());
+        } catch (UnsupportedAudioFileException | IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    private static ExecutorService createLoader() {
+        int threads = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 5, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "asset-loader-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        // Threads exit once the assets are loaded
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
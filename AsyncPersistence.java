@@ -0,0 +1,232 @@
+import javax.swing.SwingUtilities;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sauvegarde et chargement des parties en arrière-plan, pour que l'interface
+ * ne soit jamais bloquée par le disque.
+ * Une sauvegarde prend d'abord un instantané du jeu et du joueur sur le thread
+ * appelant (l'EDT), puis écrit cet instantané sur un thread dédié : le jeu peut
+ * continuer pendant l'écriture. Les sauvegardes successives d'un même fichier
+ * qui n'ont pas encore commencé sont regroupées en une seule écriture du dernier
+ * état. Les opérations s'exécutent dans leur ordre d'appel et leurs callbacks
+ * sont appelés sur l'EDT, sauf si elles ont été annulées.
+ */
+public class AsyncPersistence implements Closeable {
+
+    /**
+     * Résultat d'une opération, appelé sur l'EDT.
+     *
+     * @param <T> Le type du résultat.
+     */
+    public interface Callback<T> {
+        void onSuccess(T result);
+
+        void onFailure(Exception error);
+    }
+
+    /**
+     * Une partie chargée et le joueur lu avec elle. Le joueur est une copie :
+     * c'est à l'appelant d'en reporter les données sur le joueur courant.
+     */
+    public static final class LoadedGame {
+        private final GuessingGame game;
+        private final PlayerUser player;
+
+        LoadedGame(GuessingGame game, PlayerUser player) {
+            this.game = game;
+            this.player = player;
+        }
+
+        public GuessingGame getGame() {
+            return game;
+        }
+
+        public PlayerUser getPlayer() {
+            return player;
+        }
+    }
+
+    /**
+     * Une opération en cours ou en attente.
+     */
+    public static class Task {
+        private volatile boolean cancelled;
+        // Écrit par le thread d'arrière-plan
+        volatile boolean done;
+
+        /**
+         * Annule l'opération : elle n'est pas exécutée si elle n'a pas commencé, et
+         * aucun callback n'est appelé. Une sauvegarde regroupée est annulée pour
+         * tous ses appelants.
+         *
+         * @return false si l'opération était déjà terminée.
+         */
+        public boolean cancel() {
+            cancelled = true;
+            return !done;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public boolean isDone() {
+            return done;
+        }
+    }
+
+    private static final class PendingSave extends Task {
+        final String path;
+        GuessingGame game;
+        PlayerUser player;
+        final List<Callback<Void>> callbacks = new ArrayList<>();
+
+        PendingSave(String path) {
+            this.path = path;
+        }
+    }
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "persistence");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Sauvegardes pas encore commencées, par fichier
+    private final Map<String, PendingSave> pendingSaves = new HashMap<>();
+
+    /**
+     * Sauvegarde un jeu dans le premier emplacement d'un fichier, en arrière-plan.
+     * Doit être appelée par le thread propriétaire du jeu (l'EDT).
+     *
+     * @param game     Le jeu à sauvegarder.
+     * @param player   Le joueur à sauvegarder.
+     * @param filePath Le chemin du fichier de sauvegarde.
+     * @param callback Appelé sur l'EDT une fois l'écriture terminée ; peut être null.
+     * @return L'opération, partagée avec les sauvegardes regroupées avec elle.
+     */
+    public Task save(GuessingGame game, PlayerUser player, String filePath, Callback<Void> callback) {
+        PlayerUser playerCopy = new PlayerUser(player.getNickName(), 0);
+        GuessingGame gameCopy = snapshot(game, player, playerCopy);
+        synchronized (pendingSaves) {
+            PendingSave save = pendingSaves.get(filePath);
+            boolean queued = save != null && !save.isCancelled();
+            if (!queued) {
+                save = new PendingSave(filePath);
+                pendingSaves.put(filePath, save);
+            }
+            // Regroupée : seul le dernier état est écrit
+            save.game = gameCopy;
+            save.player = playerCopy;
+            if (callback != null) {
+                save.callbacks.add(callback);
+            }
+            if (!queued) {
+                PendingSave task = save;
+                worker.execute(() -> write(task));
+            }
+            return save;
+        }
+    }
+
+    /**
+     * Charge une partie en arrière-plan (voir {@link GuessingGame#loadGame(PlayerUser, String)}).
+     *
+     * @param filePath Le chemin du fichier de sauvegarde.
+     * @param callback Appelé sur l'EDT avec la partie et le joueur lus.
+     * @return L'opération.
+     */
+    public Task load(String filePath, Callback<LoadedGame> callback) {
+        Task task = new Task();
+        worker.execute(() -> {
+            if (task.isCancelled()) {
+                return;
+            }
+            try {
+                PlayerUser player = new PlayerUser("Invité", 0);
+                long start = System.nanoTime();
+                GuessingGame game = GuessingGame.loadGame(player, filePath);
+                GameMetrics.get().recordLoad(System.nanoTime() - start);
+                complete(task, callback, new LoadedGame(game, player), null);
+            } catch (IOException | ClassNotFoundException | RuntimeException e) {
+                complete(task, callback, null, e);
+            }
+        });
+        return task;
+    }
+
+    /**
+     * Termine les opérations en attente (jusqu'à deux secondes), puis arrête le
+     * thread d'arrière-plan.
+     */
+    @Override
+    public void close() {
+        worker.shutdown();
+        try {
+            worker.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(PendingSave save) {
+        GuessingGame game;
+        PlayerUser player;
+        List<Callback<Void>> callbacks;
+        synchronized (pendingSaves) {
+            // Les sauvegardes suivantes forment un nouveau groupe
+            pendingSaves.remove(save.path, save);
+            game = save.game;
+            player = save.player;
+            callbacks = new ArrayList<>(save.callbacks);
+        }
+        if (save.isCancelled()) {
+            return;
+        }
+        Exception error = null;
+        try {
+            long start = System.nanoTime();
+            game.saveGame(player, save.path);
+            GameMetrics.get().recordSave(System.nanoTime() - start);
+        } catch (IOException | RuntimeException e) {
+            error = e;
+        }
+        for (Callback<Void> callback : callbacks) {
+            complete(save, callback, null, error);
+        }
+        save.done = true;
+    }
+
+    private static <T> void complete(Task task, Callback<T> callback, T result, Exception error) {
+        task.done = true;
+        SwingUtilities.invokeLater(() -> {
+            if (task.isCancelled() || callback == null) {
+                return;
+            }
+            if (error != null) {
+                callback.onFailure(error);
+            } else {
+                callback.onSuccess(result);
+            }
+        });
+    }
+
+    /**
+     * Copie le jeu et le joueur en passant par un enregistrement de sauvegarde,
+     * qui contient exactement l'état à écrire.
+     */
+    private static GuessingGame snapshot(GuessingGame game, PlayerUser player, PlayerUser playerCopy) {
+        ByteBuffer record = ByteBuffer.allocate(SaveFile.RECORD_SIZE);
+        game.writeRecord(record, player);
+        record.flip();
+        return GuessingGame.readRecord(record, playerCopy);
+    }
+}
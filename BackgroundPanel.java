@@ -3,32 +3,90 @@ import javax.swing.*;
 
 import java.awt.*;
 import java.awt.event.*;
-import java.io.File;
-import java.io.IOException;
+import java.awt.image.VolatileImage;
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.random.RandomGenerator;
 
 public class BackgroundPanel extends JPanel {
-    private java.util.List<CashSymbol> cashSymbols = new ArrayList<>();
+    // Default number of symbols, overridable with -Dbackground.particles=N
+    private static final int DEFAULT_PARTICLES = 30;
+    // Default frame rate, overridable with -Dbackground.fps=N
+    private static final int DEFAULT_FPS = 60;
+    // Physics runs at the original 30 ms tick, so symbols keep the same speed
+    private static final long STEP_NANOS = 30_000_000L;
+    private static final int MAX_STEPS_PER_FRAME = 5;
+
+    private final ParticleSystem particles;
+    private final FixedStepClock clock = new FixedStepClock(STEP_NANOS, MAX_STEPS_PER_FRAME);
+    private final FrameStats frameStats = new FrameStats(240);
+    private final int targetFps;
+    private final boolean activeRendering;
     private Timer timer;
-    private Random random = new Random();
+    private RenderThread renderThread;
+    private long lastFrameTime = -1;
+    // Set on resume, so the time spent paused is not simulated
+    private volatile boolean restartClock;
+    // Interpolation factor between the previous and current physics state
+    private float alpha = 1f;
+    // The symbols are only touched under the particles lock, by the EDT or the render thread
+    private final RandomGenerator random = GameRandom.newStream();
 
     // Mouse position variables
-    private int mouseX = -1;
-    private int mouseY = -1;
+    private volatile int mouseX = -1;
+    private volatile int mouseY = -1;
 
     // MagicalBrush font
     private Font dkFont;
 
+    // Pre-rendered symbols, blitted instead of drawing text every frame
+    private GlyphSpriteCache spriteCache;
+
+    // Areas to repaint: where the symbols were last drawn and where they are now
+    private static final int DIRTY_TILE_SIZE = 32;
+    private static final float FULL_REPAINT_COVERAGE = 0.4f;
+    private final DirtyRegion dirtyRegion = new DirtyRegion(DIRTY_TILE_SIZE, FULL_REPAINT_COVERAGE);
+    private final List<Rectangle> dirtyRectangles = new ArrayList<>();
+    private final AtomicBoolean repaintPending = new AtomicBoolean();
+    private Rectangle glyphBounds;
+    private int[] drawnX;
+    private int[] drawnY;
+    private boolean drawnValid;
+
     public BackgroundPanel() {
+        this(Integer.getInteger("background.particles", DEFAULT_PARTICLES),
+                Integer.getInteger("background.fps", DEFAULT_FPS),
+                "active".equals(System.getProperty("background.render")));
+    }
+
+    public BackgroundPanel(int particleCount) {
+        this(particleCount, DEFAULT_FPS, false);
+    }
+
+    /**
+     * @param particleCount   Number of floating symbols.
+     * @param targetFps       Frames per second to render.
+     * @param activeRendering true to render from a dedicated thread into
+     *                        offscreen pages, false to render from a Swing timer.
+     */
+    public BackgroundPanel(int particleCount, int targetFps, boolean activeRendering) {
+        this.targetFps = Math.max(1, targetFps);
+        this.activeRendering = activeRendering;
         setBackground(Color.WHITE); // Set the background color to white
 
-        // Load the MagicalBrush font
-        loaddkFont();
+        // Shared DK font, loaded once by the asset manager
+        dkFont = AssetManager.font(AssetManager.DK_FONT, 30f);
+        spriteCache = new GlyphSpriteCache(dkFont, ParticleSystem.SYMBOLS, ParticleSystem.COLORS,
+                ParticleSystem.MIN_SIZE, ParticleSystem.MAX_SIZE);
 
-        // Initialize cash symbols list but do not add symbols yet
+        // Allocate the symbols but do not place them yet
         // Wait until the panel is displayed and has valid dimensions
-        cashSymbols = new ArrayList<>();
+        particles = new ParticleSystem(particleCount, random);
+        glyphBounds = spriteCache.getMaxBounds();
+        drawnX = new int[particles.getCapacity()];
+        drawnY = new int[particles.getCapacity()];
 
         // Add a component listener to know when the panel is shown
         addComponentListener(new ComponentAdapter() {
@@ -58,51 +116,55 @@ public class BackgroundPanel extends JPanel {
             }
         });
 
-        // Timer to update positions and repaint
-        timer = new Timer(30, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                updateSymbols();
-                repaint();
-            }
-        });
-        timer.start();
-    }
-
-    private void loaddkFont() {
-        try {
-            // Adjust the path to the location of your MagicalBrush.ttf font file
-            dkFont = Font.createFont(Font.TRUETYPE_FONT, new File("font/DK.otf"));
-            GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-            ge.registerFont(dkFont);
-        } catch (FontFormatException | IOException e) {
-            e.printStackTrace();
-            // Fallback to a default font if loading fails
-            dkFont = new Font("SansSerif", Font.PLAIN, 30);
+        if (activeRendering) {
+            // Dedicated thread: physics and rendering do not depend on the EDT
+            renderThread = new RenderThread();
+            renderThread.start();
+        } else {
+            // Timer to update positions and repaint at the target frame rate
+            timer = new Timer(1000 / this.targetFps, new ActionListener() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    long now = System.nanoTime();
+                    advance(now);
+                    markDirty();
+                    repaintDirty();
+                }
+            });
+            timer.start();
         }
     }
 
     private void initializeSymbols() {
-        // Clear existing symbols
-        cashSymbols.clear();
-
-        // Ensure panel dimensions are positive
-        int panelWidth = getWidth();
-        int panelHeight = getHeight();
-        if (panelWidth <= 0 || panelHeight <= 0) {
-            return;
+        // Scatter the symbols; nothing is placed while the panel has no size
+        synchronized (particles) {
+            particles.randomize(getWidth(), getHeight());
+            dirtyRegion.resize(getWidth(), getHeight());
+            drawnValid = false;
         }
+    }
 
-        // Number of symbols
-        int numberOfSymbols = 30;
+    /**
+     * Runs the physics steps due at the given time and records the frame time.
+     */
+    private void advance(long now) {
+        if (restartClock) {
+            restartClock = false;
+            clock.reset();
+            lastFrameTime = -1;
+        }
+        if (lastFrameTime >= 0) {
+            frameStats.record(now - lastFrameTime);
+            GameMetrics.get().recordFrame(now - lastFrameTime);
+        }
+        lastFrameTime = now;
 
-        // Initialize cash symbols
-        for (int i = 0; i < numberOfSymbols; i++) {
-            CashSymbol symbol = new CashSymbol(this);
-            // Only add symbols that have been initialized properly
-            if (symbol.size > 0) {
-                cashSymbols.add(symbol);
+        int steps = clock.advance(now);
+        synchronized (particles) {
+            for (int i = 0; i < steps; i++) {
+                updateSymbols();
             }
+            alpha = clock.alpha();
         }
     }
 
@@ -114,34 +176,282 @@ public class BackgroundPanel extends JPanel {
             return;
         }
 
-        for (CashSymbol symbol : cashSymbols) {
-            // Apply force if mouse is nearby
-            if (mouseX >= 0 && mouseY >= 0) {
-                symbol.applyMouseRepulsion(mouseX, mouseY);
+        // Repel from the mouse (if over the panel), separate, then move
+        particles.step(panelWidth, panelHeight, mouseX, mouseY);
+    }
+
+    /**
+     * Marks where each symbol was last drawn and where it will be drawn next.
+     * Must run after the frame is rendered, so that a concurrent repaint never
+     * clears the marks before the new frame can be shown.
+     */
+    private void markDirty() {
+        synchronized (particles) {
+            int count = particles.getCount();
+            float[] x = particles.x;
+            float[] y = particles.y;
+            float[] previousX = particles.previousX;
+            float[] previousY = particles.previousY;
+            int left = glyphBounds.x;
+            int top = glyphBounds.y;
+            int width = glyphBounds.width;
+            int height = glyphBounds.height;
+            for (int i = 0; i < count; i++) {
+                int newX = (int) (previousX[i] + (x[i] - previousX[i]) * alpha);
+                int newY = (int) (previousY[i] + (y[i] - previousY[i]) * alpha);
+                if (drawnValid) {
+                    // One rectangle covering both the old and the new position
+                    int oldX = drawnX[i];
+                    int oldY = drawnY[i];
+                    dirtyRegion.mark(Math.min(oldX, newX) + left, Math.min(oldY, newY) + top,
+                            Math.abs(newX - oldX) + width, Math.abs(newY - oldY) + height);
+                }
+                drawnX[i] = newX;
+                drawnY[i] = newY;
             }
+            if (!drawnValid) {
+                dirtyRegion.markAll();
+                drawnValid = true;
+            }
+        }
+    }
 
-            symbol.updatePosition(panelWidth, panelHeight);
+    /**
+     * Repaints the dirty areas, on the EDT. Swing's RepaintManager would merge
+     * several repaint(Rectangle) calls into their bounding box, which spans most
+     * of the panel as soon as two symbols are far apart, so each area is painted
+     * immediately instead; a full repaint is requested when most of it is dirty.
+     */
+    private void repaintDirty() {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            // Coalesce: one pending request drains everything marked until it runs
+            if (repaintPending.compareAndSet(false, true)) {
+                SwingUtilities.invokeLater(this::repaintDirty);
+            }
+            return;
+        }
+        repaintPending.set(false);
+        if (dirtyRegion.drain(dirtyRectangles)) {
+            repaint();
+            return;
+        }
+        if (!isShowing()) {
+            return;
+        }
+        for (int i = 0; i < dirtyRectangles.size(); i++) {
+            paintImmediately(dirtyRectangles.get(i));
         }
     }
 
     @Override
     protected void paintComponent(Graphics g) {
+        if (renderThread != null && renderThread.blit(g)) {
+            // The render thread has already drawn the background and the symbols
+            return;
+        }
         super.paintComponent(g);
+        if (renderThread == null) {
+            synchronized (particles) {
+                drawSymbols((Graphics2D) g, alpha);
+            }
+        }
+    }
 
-        // Draw floating cash symbols
-        Graphics2D g2d = (Graphics2D) g;
-        // Enable anti-aliasing for smoother rendering
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    /**
+     * Draws the floating cash symbols from the sprite cache (antialiased when
+     * rasterized), interpolated between the previous and current step.
+     */
+    private void drawSymbols(Graphics2D g2d, float alpha) {
+        spriteCache.validate(g2d);
+        int count = particles.getCount();
+        float[] x = particles.x;
+        float[] y = particles.y;
+        float[] previousX = particles.previousX;
+        float[] previousY = particles.previousY;
+        byte[] size = particles.size;
+        byte[] symbol = particles.symbol;
+        byte[] color = particles.color;
+        for (int i = 0; i < count; i++) {
+            float drawX = previousX[i] + (x[i] - previousX[i]) * alpha;
+            float drawY = previousY[i] + (y[i] - previousY[i]) * alpha;
+            spriteCache.draw(g2d, symbol[i], size[i], color[i], (int) drawX, (int) drawY);
+        }
+    }
+
+    public FrameStats getFrameStats() {
+        return frameStats;
+    }
+
+    public ParticleSystem getParticles() {
+        return particles;
+    }
+
+    /**
+     * Suspends the animation, e.g. while the panel is hidden.
+     */
+    public void pauseAnimation() {
+        if (timer != null) {
+            timer.stop();
+        }
+        if (renderThread != null) {
+            renderThread.setPaused(true);
+        }
+    }
 
-        for (CashSymbol symbol : cashSymbols) {
-            // Set the MagicalBrush font with the appropriate size
-            g2d.setFont(dkFont.deriveFont(Font.PLAIN, symbol.size));
-            g2d.setColor(symbol.color); // Use the symbol's color
-            g2d.drawString(symbol.symbol, (int) symbol.x, (int) symbol.y);
+    /**
+     * Resumes a paused animation where it stopped.
+     */
+    public void resumeAnimation() {
+        restartClock = true;
+        if (timer != null) {
+            timer.start();
+        }
+        if (renderThread != null) {
+            renderThread.setPaused(false);
         }
     }
 
+    /**
+     * Stops the animation for good and releases the rendering resources. With
+     * active rendering they are released by the render thread as it exits, so
+     * they are never freed under a frame being drawn.
+     */
     public void stopAnimation() {
-        timer.stop();
+        if (timer != null) {
+            timer.stop();
+        }
+        if (renderThread != null) {
+            renderThread.shutdown();
+        } else {
+            spriteCache.flush();
+        }
+    }
+
+    /**
+     * Active rendering: steps the physics and renders complete frames into two
+     * offscreen pages at the target frame rate, then flips them. The EDT only
+     * blits the front page, so a busy EDT can drop frames but never slows the
+     * animation down. Pages are volatile images, normally kept in video memory.
+     * (A BufferStrategy would need a heavyweight canvas, which would paint over
+     * the Swing components laid out on this panel.)
+     */
+    private class RenderThread extends Thread {
+        private final Object pageLock = new Object();
+        private VolatileImage front;
+        private VolatileImage back;
+        private volatile boolean running = true;
+        private volatile boolean paused;
+
+        RenderThread() {
+            super("background-render");
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long frameNanos = 1_000_000_000L / targetFps;
+            long deadline = System.nanoTime();
+            try {
+                while (running) {
+                    if (paused) {
+                        LockSupport.park(this);
+                        deadline = System.nanoTime();
+                        continue;
+                    }
+                    long now = System.nanoTime();
+                    advance(now);
+                    if (renderPage()) {
+                        markDirty();
+                        repaintDirty();
+                    }
+
+                    // Frame pacing: sleep until the next frame is due
+                    deadline += frameNanos;
+                    long sleep = deadline - System.nanoTime();
+                    if (sleep > 0) {
+                        LockSupport.parkNanos(sleep);
+                    } else {
+                        // Running late: do not try to catch up on missed frames
+                        deadline = System.nanoTime();
+                    }
+                }
+            } finally {
+                releasePages();
+                spriteCache.flush();
+            }
+        }
+
+        /**
+         * Frees both pages. The EDT falls back to a plain background afterwards.
+         */
+        private void releasePages() {
+            synchronized (pageLock) {
+                if (front != null) {
+                    front.flush();
+                    front = null;
+                }
+            }
+            if (back != null) {
+                back.flush();
+                back = null;
+            }
+        }
+
+        private boolean renderPage() {
+            GraphicsConfiguration configuration = getGraphicsConfiguration();
+            int width = getWidth();
+            int height = getHeight();
+            if (configuration == null || width <= 0 || height <= 0) {
+                return false;
+            }
+            if (back == null || back.getWidth() != width || back.getHeight() != height
+                    || back.validate(configuration) == VolatileImage.IMAGE_INCOMPATIBLE) {
+                if (back != null) {
+                    back.flush();
+                }
+                back = configuration.createCompatibleVolatileImage(width, height);
+            }
+            do {
+                Graphics2D g = back.createGraphics();
+                g.setColor(getBackground());
+                g.fillRect(0, 0, width, height);
+                synchronized (particles) {
+                    drawSymbols(g, alpha);
+                }
+                g.dispose();
+            } while (back.contentsLost() && back.validate(configuration) != VolatileImage.IMAGE_INCOMPATIBLE);
+
+            synchronized (pageLock) {
+                VolatileImage page = front;
+                front = back;
+                back = page;
+            }
+            return true;
+        }
+
+        /**
+         * Draws the front page; returns false if there is no valid page to show.
+         */
+        boolean blit(Graphics g) {
+            synchronized (pageLock) {
+                if (front == null || front.contentsLost()) {
+                    return false;
+                }
+                g.drawImage(front, 0, 0, null);
+                return true;
+            }
+        }
+
+        void setPaused(boolean paused) {
+            this.paused = paused;
+            if (!paused) {
+                LockSupport.unpark(this);
+            }
+        }
+
+        void shutdown() {
+            running = false;
+            interrupt();
+        }
     }
 }
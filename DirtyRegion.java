@@ -0,0 +1,150 @@
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Accumulates the areas of a component that changed since the last repaint, on
+ * a grid of square tiles. Marking is cheap and can happen on any thread; the
+ * event thread drains the dirty tiles as a few rectangles (runs of tiles merged
+ * horizontally, then vertically), or asks for a full repaint when most of the
+ * component is dirty anyway.
+ */
+public class DirtyRegion {
+    private final int tileSize;
+    // Fraction of dirty tiles above which a full repaint is cheaper
+    private final float fullThreshold;
+    private int width;
+    private int height;
+    private int columns;
+    private int rows;
+    private boolean[] tiles = new boolean[0];
+    private int dirtyCount;
+    private boolean full;
+
+    // Rectangles still growing downwards while draining, indexed by first column
+    private Rectangle[] open = new Rectangle[0];
+
+    /**
+     * @param tileSize      Tile edge in pixels.
+     * @param fullThreshold Fraction of dirty tiles, in [0, 1], above which
+     *                      {@link #drain(List)} asks for a full repaint.
+     */
+    public DirtyRegion(int tileSize, float fullThreshold) {
+        this.tileSize = tileSize;
+        this.fullThreshold = fullThreshold;
+    }
+
+    /**
+     * Sets the component size; everything becomes dirty.
+     */
+    public synchronized void resize(int width, int height) {
+        Arrays.fill(tiles, false);
+        dirtyCount = 0;
+        this.width = Math.max(0, width);
+        this.height = Math.max(0, height);
+        columns = (this.width + tileSize - 1) / tileSize;
+        rows = (this.height + tileSize - 1) / tileSize;
+        if (tiles.length < columns * rows) {
+            tiles = new boolean[columns * rows];
+        }
+        if (open.length < columns) {
+            open = new Rectangle[columns];
+        }
+        markAll();
+    }
+
+    public synchronized void markAll() {
+        full = true;
+    }
+
+    /**
+     * Marks a rectangle as dirty; parts outside the component are ignored.
+     */
+    public synchronized void mark(int x, int y, int w, int h) {
+        if (full || w <= 0 || h <= 0 || x + w <= 0 || y + h <= 0) {
+            return;
+        }
+        int firstColumn = Math.max(0, x / tileSize);
+        int lastColumn = Math.min(columns - 1, (x + w - 1) / tileSize);
+        int firstRow = Math.max(0, y / tileSize);
+        int lastRow = Math.min(rows - 1, (y + h - 1) / tileSize);
+        for (int row = firstRow; row <= lastRow; row++) {
+            int base = row * columns;
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                if (!tiles[base + column]) {
+                    tiles[base + column] = true;
+                    dirtyCount++;
+                }
+            }
+        }
+        if (dirtyCount > fullThreshold * columns * rows) {
+            full = true;
+        }
+    }
+
+    /**
+     * Moves the dirty area into {@code out} as rectangles, clipped to the
+     * component, and clears it.
+     *
+     * @return true if the whole component should be repainted instead, in
+     *         which case {@code out} is left empty.
+     */
+    public synchronized boolean drain(List<Rectangle> out) {
+        out.clear();
+        if (full) {
+            clear();
+            return true;
+        }
+        if (dirtyCount == 0) {
+            return false;
+        }
+        for (int row = 0; row < rows; row++) {
+            int base = row * columns;
+            int column = 0;
+            while (column < columns) {
+                Rectangle rectangle = open[column];
+                int start = column;
+                while (column < columns && tiles[base + column]) {
+                    column++;
+                }
+                if (column > start) {
+                    int runWidth = Math.min(column * tileSize, width) - start * tileSize;
+                    int top = row * tileSize;
+                    int runHeight = Math.min(top + tileSize, height) - top;
+                    if (rectangle != null && rectangle.width == runWidth) {
+                        // Same run as the row above: grow that rectangle
+                        rectangle.height += runHeight;
+                    } else {
+                        closeRange(out, start, column);
+                        open[start] = new Rectangle(start * tileSize, top, runWidth, runHeight);
+                    }
+                    // Runs in the next row can only continue from their first column
+                    closeRange(out, start + 1, column);
+                } else {
+                    closeRange(out, column, column + 1);
+                    column++;
+                }
+            }
+        }
+        closeRange(out, 0, columns);
+        clear();
+        return false;
+    }
+
+    private void closeRange(List<Rectangle> out, int from, int to) {
+        for (int column = from; column < to; column++) {
+            if (open[column] != null) {
+                out.add(open[column]);
+                open[column] = null;
+            }
+        }
+    }
+
+    private void clear() {
+        if (dirtyCount > 0) {
+            Arrays.fill(tiles, 0, columns * rows, false);
+            dirtyCount = 0;
+        }
+        full = false;
+    }
+}
@@ -0,0 +1,153 @@
+import javax.swing.SwingUtilities;
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.io.PrintStream;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Watches the event dispatch thread. An event queue installed in front of the
+ * system one times every dispatched event; a daemon thread checks the event in
+ * progress and, once it has run longer than the stall threshold, prints the
+ * EDT's stack (what is blocking it) and the event. The same thread posts a
+ * probe event periodically and measures how long it waits in the queue, which
+ * is the latency a user input would see.
+ */
+public class EdtWatchdog extends EventQueue {
+    private static final long PROBE_INTERVAL_NANOS = 100_000_000L;
+
+    private static EdtWatchdog installed;
+
+    private final long stallNanos;
+    private final PrintStream log;
+    private final FrameStats queueLatency = new FrameStats(100);
+
+    // Event being dispatched, written by the EDT and read by the watchdog thread
+    private volatile Thread dispatchThread;
+    private volatile long dispatchStart;
+    private volatile AWTEvent dispatchEvent;
+    private volatile long reportedStart;
+
+    private volatile long stallCount;
+    private volatile long longestStallNanos;
+    private volatile long probePosted;
+
+    private EdtWatchdog(long stallNanos, PrintStream log) {
+        this.stallNanos = stallNanos;
+        this.log = log;
+    }
+
+    /**
+     * Installs the watchdog, once; the threshold comes from
+     * {@code -Dedt.stallMs} (default 200 ms). Stalls are reported on stderr.
+     *
+     * @return The installed watchdog.
+     */
+    public static synchronized EdtWatchdog install() {
+        if (installed == null) {
+            long stallMillis = Long.getLong("edt.stallMs", 200);
+            installed = new EdtWatchdog(stallMillis * 1_000_000L, System.err);
+            Toolkit.getDefaultToolkit().getSystemEventQueue().push(installed);
+            Thread thread = new Thread(installed::watch, "edt-watchdog");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return installed;
+    }
+
+    /**
+     * @return The installed watchdog, or null.
+     */
+    public static synchronized EdtWatchdog getInstalled() {
+        return installed;
+    }
+
+    @Override
+    protected void dispatchEvent(AWTEvent event) {
+        // Nested loops (modal dialogs) dispatch from inside another event: time the innermost
+        Thread previousThread = dispatchThread;
+        AWTEvent previousEvent = dispatchEvent;
+        dispatchThread = Thread.currentThread();
+        dispatchEvent = event;
+        dispatchStart = System.nanoTime();
+        try {
+            super.dispatchEvent(event);
+        } finally {
+            long elapsed = System.nanoTime() - dispatchStart;
+            if (elapsed > stallNanos) {
+                stallCount++;
+                longestStallNanos = Math.max(longestStallNanos, elapsed);
+            }
+            dispatchThread = previousThread;
+            dispatchEvent = previousEvent;
+            // The outer event resumes its own timing
+            dispatchStart = previousEvent == null ? 0 : System.nanoTime();
+        }
+    }
+
+    @Override
+    public AWTEvent getNextEvent() throws InterruptedException {
+        // Waiting for the next event, e.g. inside a modal dialog's loop, is not a stall
+        dispatchStart = 0;
+        return super.getNextEvent();
+    }
+
+    private void watch() {
+        long nextProbe = System.nanoTime();
+        while (true) {
+            long now = System.nanoTime();
+            long start = dispatchStart;
+            Thread thread = dispatchThread;
+            if (start != 0 && thread != null && now - start > stallNanos && start != reportedStart) {
+                reportedStart = start;
+                report(thread, dispatchEvent, now - start);
+            }
+            if (now - nextProbe >= 0 && probePosted == 0) {
+                nextProbe = now + PROBE_INTERVAL_NANOS;
+                long posted = System.nanoTime();
+                probePosted = posted;
+                SwingUtilities.invokeLater(() -> {
+                    queueLatency.record(System.nanoTime() - posted);
+                    probePosted = 0;
+                });
+            }
+            LockSupport.parkNanos(Math.min(stallNanos / 4, PROBE_INTERVAL_NANOS));
+        }
+    }
+
+    private void report(Thread thread, AWTEvent event, long elapsedNanos) {
+        StringBuilder message = new StringBuilder();
+        message.append("EDT stalled for ").append(elapsedNanos / 1_000_000).append(" ms");
+        if (event != null) {
+            message.append(" dispatching ").append(event.getClass().getSimpleName())
+                    .append(" from ").append(event.getSource().getClass().getName());
+        }
+        for (StackTraceElement element : thread.getStackTrace()) {
+            message.append(System.lineSeparator()).append("\tat ").append(element);
+        }
+        log.println(message);
+    }
+
+    /**
+     * @return Time events wait in the queue before being dispatched, over the
+     *         last probes. A probe stuck behind a stall is not counted until it runs.
+     */
+    public FrameStats getQueueLatency() {
+        return queueLatency;
+    }
+
+    /**
+     * @return Number of events that took longer than the stall threshold.
+     */
+    public long getStallCount() {
+        return stallCount;
+    }
+
+    public double getLongestStallMillis() {
+        return longestStallNanos / 1e6;
+    }
+
+    public double getStallThresholdMillis() {
+        return stallNanos / 1e6;
+    }
+}
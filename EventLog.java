@@ -0,0 +1,372 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Trace binaire de tous les événements de jeu : début de partie, résultat de
+ * chaque supposition (y compris les entrées refusées) et fin de partie (gagnée,
+ * temps écoulé ou score nul).
+ * Chaque thread de jeu écrit dans son propre {@link EventRing}, préalloué : un
+ * événement coûte quelques écritures en mémoire, sans verrou, sans allocation
+ * et sans entrée/sortie. Un thread d'arrière-plan vide les tampons dans des
+ * fichiers binaires tournants. Si un tampon est plein, les événements sont
+ * abandonnés plutôt que de ralentir le jeu, et leur nombre est tracé.
+ * <p>
+ * La trace est activée par {@link #install()} avec {@code -Devents.dir=dossier}.
+ * Les fichiers {@code events-<démarrage>-<n>.bin} font au plus
+ * {@code -Devents.maxFileMb} Mo (16 par défaut) et seuls les
+ * {@code -Devents.maxFiles} derniers (8 par défaut) sont conservés. Chaque
+ * tampon contient {@code -Devents.ringRecords} enregistrements (8192 par
+ * défaut). Le tampon d'un thread terminé est libéré une fois vidé.
+ * {@link #main(String[])} affiche le contenu des fichiers.
+ */
+public final class EventLog {
+    /** Début d'une partie ; le code est l'indice de la difficulté. */
+    public static final byte SESSION_START = 1;
+    /** Supposition évaluée ; le code est le {@link GuessResult}. */
+    public static final byte GUESS = 2;
+    /** Entrée refusée (invalide ou hors plage) ; le code est le {@link GuessResult}. */
+    public static final byte REJECTED = 3;
+    /** Fin de partie ; le code est le {@link GameOutcome}. */
+    public static final byte END = 4;
+    /** Événements abandonnés ; la valeur est leur nombre. */
+    public static final byte DROPPED = 5;
+
+    private static final String[] DIFFICULTIES = { "Facile", "Moyen", "Difficile", "Extrême" };
+    private static final byte[] MAGIC = { 'G', 'E', 'V', 'T' };
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int BATCH_RECORDS = 1024;
+    private static final long IDLE_PARK_NANOS = 20_000_000L;
+
+    private static final EventLog INSTANCE = new EventLog();
+
+    /**
+     * Trace d'une partie, qui observe le jeu. Les méthodes sont appelées par le
+     * thread propriétaire du jeu.
+     */
+    public final class Trail implements GameListener {
+        private final long session;
+
+        private Trail(long session) {
+            this.session = session;
+        }
+
+        /**
+         * Retourne l'identifiant de la partie dans la trace.
+         *
+         * @return L'identifiant de la partie.
+         */
+        public long getSession() {
+            return session;
+        }
+
+        /**
+         * Trace une entrée refusée, que le jeu ne signale pas à ses observateurs.
+         *
+         * @param game   Le jeu concerné.
+         * @param result Le résultat de l'entrée ({@link GuessResult#INVALID} ou
+         *               {@link GuessResult#OUT_OF_RANGE}).
+         */
+        public void rejected(GuessingGame game, GuessResult result) {
+            publish(session, REJECTED, result.ordinal(), 0, game);
+        }
+
+        @Override
+        public void onGuess(GuessingGame game, int guess, GuessResult result) {
+            publish(session, GUESS, result.ordinal(), guess, game);
+        }
+
+        @Override
+        public void onEnd(GuessingGame game, GameOutcome outcome) {
+            publish(session, END, outcome.ordinal(), 0, game);
+            game.removeListener(this);
+        }
+    }
+
+    /**
+     * Tampon d'un thread de jeu, avec ce thread pour savoir quand le libérer.
+     */
+    private static final class ThreadRing {
+        final EventRing ring;
+        final Thread owner = Thread.currentThread();
+
+        ThreadRing(int capacity) {
+            ring = new EventRing(capacity);
+        }
+    }
+
+    private final List<ThreadRing> rings = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<EventRing> localRing = ThreadLocal.withInitial(this::newRing);
+    private final AtomicLong nextSession = new AtomicLong(1);
+    private volatile boolean enabled;
+    private volatile boolean stopping;
+    private int ringRecords;
+    private Path directory;
+    private long maxFileBytes;
+    private int maxFiles;
+    private Thread drainer;
+    // Numéro du prochain fichier, utilisé par le thread d'arrière-plan seulement
+    private long fileIndex;
+
+    private EventLog() {
+    }
+
+    /**
+     * @return La trace de ce processus.
+     */
+    public static EventLog get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Active la trace si {@code -Devents.dir} est défini et démarre le thread
+     * qui écrit les fichiers. Les appels suivants sont ignorés.
+     */
+    public static synchronized void install() {
+        String dir = System.getProperty("events.dir");
+        if (INSTANCE.drainer != null || dir == null) {
+            return;
+        }
+        INSTANCE.directory = Paths.get(dir);
+        INSTANCE.maxFileBytes = Long.getLong("events.maxFileMb", 16) * 1024 * 1024;
+        INSTANCE.maxFiles = Math.max(1, Integer.getInteger("events.maxFiles", 8));
+        INSTANCE.ringRecords = Math.max(16, Integer.getInteger("events.ringRecords", 8192));
+        INSTANCE.drainer = new Thread(INSTANCE::drain, "event-log");
+        INSTANCE.drainer.setDaemon(true);
+        INSTANCE.drainer.start();
+        // Les derniers événements sont écrits à l'arrêt de la JVM
+        Runtime.getRuntime().addShutdownHook(new Thread(INSTANCE::stop, "event-log-shutdown"));
+        INSTANCE.enabled = true;
+    }
+
+    /**
+     * Commence la trace d'une partie et trace son début. Seul cet appel alloue :
+     * les événements suivants passent par le tampon du thread.
+     *
+     * @param game Le jeu à tracer, sur le thread qui le fait progresser.
+     * @return La trace de la partie, inactive si la trace n'est pas installée.
+     */
+    public Trail track(GuessingGame game) {
+        Trail trail = new Trail(nextSession.getAndIncrement());
+        if (enabled) {
+            publish(trail.session, SESSION_START, difficultyCode(game.getDifficulty()), 0, game);
+            game.addListener(trail);
+        }
+        return trail;
+    }
+
+    private void publish(long session, byte type, int code, int value, GuessingGame game) {
+        if (!enabled) {
+            return;
+        }
+        localRing.get().publish(System.nanoTime(), session, type, (byte) code, value, game.getCurrentScore(),
+                game.getTimeRemaining());
+    }
+
+    private EventRing newRing() {
+        ThreadRing threadRing = new ThreadRing(ringRecords);
+        rings.add(threadRing);
+        return threadRing.ring;
+    }
+
+    private static int difficultyCode(String difficulty) {
+        for (int i = 0; i < DIFFICULTIES.length; i++) {
+            if (DIFFICULTIES[i].equals(difficulty)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Boucle du thread d'arrière-plan : vide les tampons dans le fichier courant
+     * et attend un peu lorsqu'ils sont vides.
+     */
+    private void drain() {
+        ByteBuffer batch = ByteBuffer.allocateDirect(BATCH_RECORDS * EventRing.RECORD_SIZE);
+        Map<EventRing, Long> reportedDrops = new IdentityHashMap<>();
+        Deque<Path> files = new ArrayDeque<>();
+        String prefix = "events-" + System.currentTimeMillis() + "-";
+        FileChannel channel = null;
+        boolean finalPass = false;
+        while (true) {
+            boolean last = stopping;
+            int drained = 0;
+            try {
+                for (ThreadRing threadRing : rings) {
+                    EventRing ring = threadRing.ring;
+                    // Lu avant de vider : un thread terminé n'écrit plus rien après
+                    boolean ownerDead = !threadRing.owner.isAlive();
+                    int count;
+                    do {
+                        count = ring.drainTo(batch);
+                        drained += count;
+                        channel = writeBatch(batch, channel, files, prefix);
+                    } while (count > 0);
+                    long drops = ring.getDropped();
+                    long reported = reportedDrops.getOrDefault(ring, 0L);
+                    if (drops > reported) {
+                        reportedDrops.put(ring, drops);
+                        batch.putLong(System.nanoTime()).putLong(0).put(DROPPED).put((byte) 0).putShort((short) 0)
+                                .putInt((int) Math.min(Integer.MAX_VALUE, drops - reported)).putInt(0).putInt(0);
+                        channel = writeBatch(batch, channel, files, prefix);
+                    }
+                    if (ownerDead && ring.size() == 0) {
+                        rings.remove(threadRing);
+                        reportedDrops.remove(ring);
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Could not write game events to " + directory + ": " + e);
+                batch.clear();
+            }
+            if (finalPass) {
+                break;
+            }
+            finalPass = last;
+            if (drained == 0 && !last) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            System.err.println("Could not close game events file: " + e);
+        }
+    }
+
+    /**
+     * Écrit le lot dans le fichier courant, en passant au fichier suivant s'il
+     * est plein et en supprimant les plus anciens.
+     */
+    private FileChannel writeBatch(ByteBuffer batch, FileChannel channel, Deque<Path> files, String prefix)
+            throws IOException {
+        if (batch.position() == 0) {
+            return channel;
+        }
+        batch.flip();
+        if (channel == null || channel.size() + batch.remaining() > maxFileBytes) {
+            if (channel != null) {
+                channel.close();
+            }
+            Files.createDirectories(directory);
+            Path path = directory.resolve(prefix + fileIndex++ + ".bin");
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            channel.write(header());
+            files.addLast(path);
+            while (files.size() > maxFiles) {
+                Files.deleteIfExists(files.removeFirst());
+            }
+        }
+        while (batch.hasRemaining()) {
+            channel.write(batch);
+        }
+        batch.clear();
+        return channel;
+    }
+
+    /**
+     * En-tête d'un fichier : l'heure et la valeur de {@link System#nanoTime()} à
+     * sa création, qui permettent de dater les enregistrements.
+     */
+    private static ByteBuffer header() {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.put(MAGIC).putShort(VERSION).putShort((short) EventRing.RECORD_SIZE)
+                .putLong(System.currentTimeMillis()).putLong(System.nanoTime());
+        header.clear();
+        return header;
+    }
+
+    /**
+     * Arrête la trace après avoir écrit les derniers événements (au plus une
+     * seconde d'attente).
+     */
+    private void stop() {
+        enabled = false;
+        stopping = true;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Affiche les événements des fichiers spécifiés, une ligne par événement.
+     *
+     * @param args Les chemins des fichiers de trace.
+     * @throws IOException Si un fichier ne peut pas être lu.
+     */
+    public static void main(String[] args) throws IOException {
+        for (String arg : args) {
+            ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(Paths.get(arg)));
+            byte[] magic = new byte[MAGIC.length];
+            file.get(magic);
+            if (!new String(magic, StandardCharsets.US_ASCII).equals("GEVT") || file.getShort() != VERSION) {
+                throw new IOException("Not a game events file: " + arg);
+            }
+            int recordSize = file.getShort();
+            long wallMillis = file.getLong();
+            long nanoBase = file.getLong();
+            file.position(HEADER_SIZE);
+            while (file.remaining() >= recordSize) {
+                int start = file.position();
+                long time = wallMillis + (file.getLong() - nanoBase) / 1_000_000;
+                long session = file.getLong();
+                byte type = file.get();
+                byte code = file.get();
+                file.getShort();
+                int value = file.getInt();
+                int score = file.getInt();
+                int timeRemaining = file.getInt();
+                System.out.println(Instant.ofEpochMilli(time) + " session=" + session + " "
+                        + describe(type, code, value) + " score=" + score + " time=" + timeRemaining);
+                file.position(start + recordSize);
+            }
+        }
+    }
+
+    private static String describe(byte type, byte code, int value) {
+        switch (type) {
+            case SESSION_START:
+                return "start " + (code >= 0 && code < DIFFICULTIES.length ? DIFFICULTIES[code] : "?");
+            case GUESS:
+                return "guess " + value + " " + name(GuessResult.values(), code);
+            case REJECTED:
+                return "rejected " + name(GuessResult.values(), code);
+            case END:
+                return "end " + name(GameOutcome.values(), code);
+            case DROPPED:
+                return "dropped " + value;
+            default:
+                return "unknown " + type;
+        }
+    }
+
+    /**
+     * Retourne le nom d'une constante d'après son code, ou "?" pour un code
+     * inconnu (fichier corrompu ou écrit par une autre version).
+     */
+    private static String name(Enum<?>[] values, byte code) {
+        return code >= 0 && code < values.length ? values[code].name() : "?";
+    }
+}
@@ -0,0 +1,112 @@
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tampon circulaire préalloué d'enregistrements binaires de taille fixe, pour
+ * un seul écrivain et un seul lecteur.
+ * L'écrivain ne bloque jamais et n'alloue rien : si le tampon est plein,
+ * l'enregistrement est abandonné et compté. Les positions d'écriture et de
+ * lecture sont publiées avec une sémantique release/acquire, ce qui suffit à
+ * rendre visibles les octets d'un enregistrement au lecteur sans verrou.
+ */
+public class EventRing {
+    /** Taille d'un enregistrement, en octets. */
+    public static final int RECORD_SIZE = 32;
+
+    private final byte[] records;
+    // Écritures absolues seulement : la position du tampon n'est jamais modifiée
+    private final ByteBuffer writer;
+    private final int capacity;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    // Dernière position de lecture connue de l'écrivain
+    private long cachedTail;
+
+    /**
+     * Constructeur de la classe EventRing.
+     *
+     * @param capacity Le nombre d'enregistrements du tampon.
+     */
+    public EventRing(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Invalid ring capacity: " + capacity);
+        }
+        this.capacity = capacity;
+        this.records = new byte[capacity * RECORD_SIZE];
+        this.writer = ByteBuffer.wrap(records);
+    }
+
+    /**
+     * Ajoute un enregistrement. Appelée par l'écrivain seulement.
+     *
+     * @param time          L'horodatage de l'événement, en nanosecondes.
+     * @param session       L'identifiant de la partie.
+     * @param type          Le type d'événement.
+     * @param code          Un code propre au type (résultat, issue, difficulté).
+     * @param value         La valeur de l'événement (par exemple la supposition).
+     * @param score         Le score au moment de l'événement.
+     * @param timeRemaining Le temps restant au moment de l'événement.
+     * @return false si le tampon était plein et l'enregistrement abandonné.
+     */
+    public boolean publish(long time, long session, byte type, byte code, int value, int score,
+            int timeRemaining) {
+        long position = head.get();
+        if (position - cachedTail >= capacity) {
+            cachedTail = tail.get();
+            if (position - cachedTail >= capacity) {
+                dropped.lazySet(dropped.get() + 1);
+                return false;
+            }
+        }
+        int offset = (int) (position % capacity) * RECORD_SIZE;
+        writer.putLong(offset, time);
+        writer.putLong(offset + 8, session);
+        writer.put(offset + 16, type);
+        writer.put(offset + 17, code);
+        writer.putShort(offset + 18, (short) 0);
+        writer.putInt(offset + 20, value);
+        writer.putInt(offset + 24, score);
+        writer.putInt(offset + 28, timeRemaining);
+        head.lazySet(position + 1);
+        return true;
+    }
+
+    /**
+     * Copie les enregistrements disponibles dans un tampon puis les libère.
+     * Appelée par le lecteur seulement.
+     *
+     * @param target Le tampon de destination ; seuls les enregistrements entiers
+     *               qui y tiennent sont copiés.
+     * @return Le nombre d'enregistrements copiés.
+     */
+    public int drainTo(ByteBuffer target) {
+        long start = tail.get();
+        long available = Math.min(head.get() - start, target.remaining() / RECORD_SIZE);
+        for (long position = start; position < start + available; position++) {
+            int offset = (int) (position % capacity) * RECORD_SIZE;
+            target.put(records, offset, RECORD_SIZE);
+        }
+        tail.lazySet(start + available);
+        return (int) available;
+    }
+
+    /**
+     * Retourne le nombre d'enregistrements abandonnés parce que le tampon était
+     * plein.
+     *
+     * @return Le nombre d'enregistrements abandonnés.
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Retourne le nombre d'enregistrements en attente de lecture.
+     *
+     * @return Le nombre d'enregistrements en attente.
+     */
+    public int size() {
+        return (int) (head.get() - tail.get());
+    }
+}
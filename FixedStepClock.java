@@ -0,0 +1,52 @@
+/**
+ * Fixed-timestep clock: converts elapsed wall-clock time into a whole number
+ * of physics steps plus an interpolation factor for rendering, so that motion
+ * speed does not depend on the frame rate.
+ */
+public class FixedStepClock {
+    private final long stepNanos;
+    private final int maxSteps;
+    private long lastTime = -1;
+    private long accumulator;
+
+    /**
+     * @param stepNanos Duration of one physics step.
+     * @param maxSteps  Maximum steps per frame, so a long stall does not make
+     *                  the simulation spiral trying to catch up.
+     */
+    public FixedStepClock(long stepNanos, int maxSteps) {
+        this.stepNanos = stepNanos;
+        this.maxSteps = maxSteps;
+    }
+
+    /**
+     * Advances the clock to the given time and returns the number of physics
+     * steps to run now.
+     */
+    public int advance(long now) {
+        if (lastTime < 0) {
+            lastTime = now;
+        }
+        accumulator += now - lastTime;
+        lastTime = now;
+        int steps = (int) Math.min(maxSteps, accumulator / stepNanos);
+        accumulator = Math.min(accumulator - steps * stepNanos, stepNanos);
+        return steps;
+    }
+
+    /**
+     * Fraction of the next step already elapsed, in [0, 1], used to interpolate
+     * between the previous and the current physics state.
+     */
+    public float alpha() {
+        return Math.min(1f, (float) accumulator / stepNanos);
+    }
+
+    /**
+     * Forgets the elapsed time, e.g. when the animation resumes after a pause.
+     */
+    public void reset() {
+        lastTime = -1;
+        accumulator = 0;
+    }
+}
@@ -0,0 +1,55 @@
+import java.util.Arrays;
+
+/**
+ * Rolling statistics over the most recent frame times: frames per second and
+ * frame-time percentiles. Recording is allocation-free; it is safe to record
+ * from a render thread while another thread reads the statistics.
+ */
+public class FrameStats {
+    private final long[] frameNanos;
+    private final long[] sorted;
+    private int next;
+    private int count;
+    private long total;
+
+    public FrameStats(int window) {
+        frameNanos = new long[window];
+        sorted = new long[window];
+    }
+
+    public synchronized void record(long nanos) {
+        if (count == frameNanos.length) {
+            total -= frameNanos[next];
+        } else {
+            count++;
+        }
+        frameNanos[next] = nanos;
+        total += nanos;
+        next = (next + 1) % frameNanos.length;
+    }
+
+    public synchronized double fps() {
+        return total == 0 ? 0 : count * 1e9 / total;
+    }
+
+    public synchronized double averageMillis() {
+        return count == 0 ? 0 : total / 1e6 / count;
+    }
+
+    /**
+     * Returns a frame-time percentile over the window, in milliseconds.
+     */
+    public synchronized double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        System.arraycopy(frameNanos, 0, sorted, 0, count);
+        Arrays.sort(sorted, 0, count);
+        int index = (int) Math.min(count - 1, Math.ceil(percentile / 100.0 * count) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,33 @@
+/**
+ * Observateur des événements d'un {@link GuessingGame}.
+ * Les méthodes sont appelées de manière synchrone par le thread qui fait
+ * progresser le jeu ; elles doivent donc rester rapides et ne pas bloquer.
+ */
+public interface GameListener {
+    /**
+     * Appelée après l'évaluation d'une supposition dans la plage du jeu.
+     *
+     * @param game   Le jeu concerné.
+     * @param guess  La supposition évaluée.
+     * @param result Le résultat de la supposition.
+     */
+    default void onGuess(GuessingGame game, int guess, GuessResult result) {
+    }
+
+    /**
+     * Appelée après chaque décrément du temps restant.
+     *
+     * @param game Le jeu concerné.
+     */
+    default void onTick(GuessingGame game) {
+    }
+
+    /**
+     * Appelée une seule fois, lorsque la partie se termine.
+     *
+     * @param game    Le jeu concerné.
+     * @param outcome L'issue de la partie.
+     */
+    default void onEnd(GuessingGame game, GameOutcome outcome) {
+    }
+}
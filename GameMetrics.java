@@ -0,0 +1,401 @@
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Game and UI telemetry: guesses and outcomes per difficulty, guesses per game,
+ * guess-to-feedback latency, save and load durations and animation frame
+ * times. Counters are {@link LongAdder}s and distributions are lock-free
+ * {@link Histogram}s, so recording never blocks the game or the render thread.
+ * Games are followed through {@link #track(GuessingGame)}, which gives each
+ * game its own {@link GameListener}: a game's guesses are counted in that
+ * listener, by the game's thread, without any shared state.
+ * <p>
+ * {@link #install()} registers the figures as platform MXBeans under the
+ * {@code GuessNumberGame} domain, where JConsole or any JMX client can read
+ * them, and, with {@code -Dmetrics.dumpFile=path}, rewrites a text snapshot to
+ * that file every {@code -Dmetrics.dumpSeconds} seconds (default 60).
+ */
+public final class GameMetrics {
+    private static final String DOMAIN = "GuessNumberGame";
+    private static final String[] DIFFICULTIES = { "Facile", "Moyen", "Difficile", "Extrême" };
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private static final GameMetrics INSTANCE = new GameMetrics();
+
+    /**
+     * Read-only JMX view of a {@link Histogram}.
+     */
+    public interface HistogramMXBean {
+        String getUnit();
+
+        long getCount();
+
+        double getMean();
+
+        double getP50();
+
+        double getP90();
+
+        double getP99();
+
+        double getP999();
+
+        double getMax();
+    }
+
+    /**
+     * Read-only JMX view of the games of one difficulty.
+     */
+    public interface DifficultyMXBean {
+        long getGamesStarted();
+
+        long getGamesEnded();
+
+        long getGuesses();
+
+        long getWins();
+
+        long getTimeUps();
+
+        long getGameOvers();
+
+        /** Share of ended games that were won, from 0 to 1. */
+        double getWinRate();
+
+        double getTimeUpRate();
+
+        double getGameOverRate();
+
+        double getMeanGuessesPerGame();
+
+        double getP90GuessesPerGame();
+    }
+
+    private static final class HistogramView implements HistogramMXBean {
+        private final Histogram histogram;
+        private final String unit;
+        private final double scale;
+
+        HistogramView(Histogram histogram, String unit, double scale) {
+            this.histogram = histogram;
+            this.unit = unit;
+            this.scale = scale;
+        }
+
+        @Override
+        public String getUnit() {
+            return unit;
+        }
+
+        @Override
+        public long getCount() {
+            return histogram.getCount();
+        }
+
+        @Override
+        public double getMean() {
+            return histogram.getMean() / scale;
+        }
+
+        @Override
+        public double getP50() {
+            return histogram.getPercentile(50) / scale;
+        }
+
+        @Override
+        public double getP90() {
+            return histogram.getPercentile(90) / scale;
+        }
+
+        @Override
+        public double getP99() {
+            return histogram.getPercentile(99) / scale;
+        }
+
+        @Override
+        public double getP999() {
+            return histogram.getPercentile(99.9) / scale;
+        }
+
+        @Override
+        public double getMax() {
+            return histogram.getMax() / scale;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d mean=%.2f p50=%.2f p90=%.2f p99=%.2f p999=%.2f max=%.2f %s",
+                    getCount(), getMean(), getP50(), getP90(), getP99(), getP999(), getMax(), unit);
+        }
+    }
+
+    private static final class DifficultyStats implements DifficultyMXBean {
+        final LongAdder started = new LongAdder();
+        final LongAdder guesses = new LongAdder();
+        final LongAdder wins = new LongAdder();
+        final LongAdder timeUps = new LongAdder();
+        final LongAdder gameOvers = new LongAdder();
+        final Histogram guessesPerGame = new Histogram();
+
+        @Override
+        public long getGamesStarted() {
+            return started.sum();
+        }
+
+        @Override
+        public long getGamesEnded() {
+            return wins.sum() + timeUps.sum() + gameOvers.sum();
+        }
+
+        @Override
+        public long getGuesses() {
+            return guesses.sum();
+        }
+
+        @Override
+        public long getWins() {
+            return wins.sum();
+        }
+
+        @Override
+        public long getTimeUps() {
+            return timeUps.sum();
+        }
+
+        @Override
+        public long getGameOvers() {
+            return gameOvers.sum();
+        }
+
+        @Override
+        public double getWinRate() {
+            return rate(wins);
+        }
+
+        @Override
+        public double getTimeUpRate() {
+            return rate(timeUps);
+        }
+
+        @Override
+        public double getGameOverRate() {
+            return rate(gameOvers);
+        }
+
+        @Override
+        public double getMeanGuessesPerGame() {
+            return guessesPerGame.getMean();
+        }
+
+        @Override
+        public double getP90GuessesPerGame() {
+            return guessesPerGame.getPercentile(90);
+        }
+
+        private double rate(LongAdder outcome) {
+            long ended = getGamesEnded();
+            return ended == 0 ? 0 : (double) outcome.sum() / ended;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("started=%d guesses=%d wins=%d timeUps=%d gameOvers=%d winRate=%.3f"
+                    + " guessesPerGame(mean=%.2f p90=%.0f)", getGamesStarted(), getGuesses(), getWins(),
+                    getTimeUps(), getGameOvers(), getWinRate(), getMeanGuessesPerGame(), getP90GuessesPerGame());
+        }
+    }
+
+    /**
+     * Follows one game. Only the thread that owns the game calls it.
+     */
+    private static final class GameTracker implements GameListener {
+        private final DifficultyStats stats;
+        private int guesses;
+
+        GameTracker(DifficultyStats stats) {
+            this.stats = stats;
+        }
+
+        @Override
+        public void onGuess(GuessingGame game, int guess, GuessResult result) {
+            stats.guesses.increment();
+            guesses++;
+        }
+
+        @Override
+        public void onEnd(GuessingGame game, GameOutcome outcome) {
+            switch (outcome) {
+                case WON:
+                    stats.wins.increment();
+                    break;
+                case TIME_UP:
+                    stats.timeUps.increment();
+                    break;
+                default:
+                    stats.gameOvers.increment();
+                    break;
+            }
+            stats.guessesPerGame.record(guesses);
+            game.removeListener(this);
+        }
+    }
+
+    private final Map<String, DifficultyStats> difficulties = new ConcurrentHashMap<>();
+    private final Histogram guessLatency = new Histogram();
+    private final Histogram saveDuration = new Histogram();
+    private final Histogram loadDuration = new Histogram();
+    private final Histogram frameTime = new Histogram();
+    private final Map<String, HistogramView> histograms = Map.of(
+            "guessLatency", new HistogramView(guessLatency, "ms", NANOS_PER_MILLI),
+            "saveDuration", new HistogramView(saveDuration, "ms", NANOS_PER_MILLI),
+            "loadDuration", new HistogramView(loadDuration, "ms", NANOS_PER_MILLI),
+            "frameTime", new HistogramView(frameTime, "ms", NANOS_PER_MILLI));
+
+    private volatile MBeanServer server;
+    private ScheduledExecutorService dumper;
+
+    private GameMetrics() {
+    }
+
+    /**
+     * @return The metrics of this process.
+     */
+    public static GameMetrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers the MXBeans and starts the periodic dump if a dump file is
+     * configured. Later calls do nothing.
+     */
+    public static synchronized void install() {
+        if (INSTANCE.server != null) {
+            return;
+        }
+        for (String difficulty : DIFFICULTIES) {
+            INSTANCE.difficulty(difficulty);
+        }
+        // Difficulties seen from now on register themselves
+        INSTANCE.server = ManagementFactory.getPlatformMBeanServer();
+        INSTANCE.histograms.forEach((name, view) -> INSTANCE.register("Histogram", name, view));
+        INSTANCE.difficulties.forEach((name, stats) -> INSTANCE.register("Difficulty", name, stats));
+        String dumpFile = System.getProperty("metrics.dumpFile");
+        if (dumpFile != null) {
+            long period = Long.getLong("metrics.dumpSeconds", 60);
+            Path path = Paths.get(dumpFile);
+            INSTANCE.dumper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "metrics-dump");
+                thread.setDaemon(true);
+                return thread;
+            });
+            INSTANCE.dumper.scheduleAtFixedRate(() -> INSTANCE.dump(path), period, period, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Counts a new game and follows its guesses and outcome. Games that are
+     * never tracked, such as simulated ones, are not counted.
+     *
+     * @param game The game, on the thread that owns it.
+     */
+    public void track(GuessingGame game) {
+        DifficultyStats stats = difficulty(game.getDifficulty());
+        stats.started.increment();
+        game.addListener(new GameTracker(stats));
+    }
+
+    /**
+     * Records the time from a guess being submitted to its feedback being shown.
+     */
+    public void recordGuessLatency(long nanos) {
+        guessLatency.record(nanos);
+    }
+
+    public void recordSave(long nanos) {
+        saveDuration.record(nanos);
+    }
+
+    public void recordLoad(long nanos) {
+        loadDuration.record(nanos);
+    }
+
+    public void recordFrame(long nanos) {
+        frameTime.record(nanos);
+    }
+
+    /**
+     * @return Every figure, one line per histogram and per difficulty.
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        report.append("# ").append(Instant.now()).append(System.lineSeparator());
+        for (String name : new String[] { "guessLatency", "saveDuration", "loadDuration", "frameTime" }) {
+            report.append(name).append(": ").append(histograms.get(name)).append(System.lineSeparator());
+        }
+        difficulties.forEach((name, stats) -> report.append("difficulty ").append(name).append(": ")
+                .append(stats).append(System.lineSeparator()));
+        return report.toString();
+    }
+
+    /**
+     * Replaces the dump file with a fresh report, through a temporary file so a
+     * reader never sees it half written.
+     */
+    private void dump(Path path) {
+        try {
+            Path absolute = path.toAbsolutePath();
+            Path temporary = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+            Files.write(temporary, report().getBytes(StandardCharsets.UTF_8));
+            try {
+                Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not write metrics to " + path + ": " + e);
+        }
+    }
+
+    private DifficultyStats difficulty(String name) {
+        DifficultyStats stats = difficulties.get(name);
+        if (stats != null) {
+            return stats;
+        }
+        DifficultyStats created = new DifficultyStats();
+        stats = difficulties.putIfAbsent(name, created);
+        if (stats != null) {
+            return stats;
+        }
+        if (server != null) {
+            register("Difficulty", name, created);
+        }
+        return created;
+    }
+
+    private void register(String type, String name, Object bean) {
+        try {
+            server.registerMBean(bean, new ObjectName(DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name)));
+        } catch (InstanceAlreadyExistsException e) {
+            // Registered by install() and by the thread that created it at the same time
+        } catch (JMException e) {
+            System.err.println("Could not register metrics " + type + " " + name + ": " + e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+/**
+ * Issue d'une partie terminée.
+ */
+public enum GameOutcome {
+    /** Le joueur a trouvé le nombre cible. */
+    WON,
+    /** Le temps imparti est écoulé. */
+    TIME_UP,
+    /** Le score du joueur est tombé à zéro. */
+    GAME_OVER
+}
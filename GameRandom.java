@@ -0,0 +1,95 @@
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Source d'aléa commune du jeu, basée sur {@link SplittableRandom}.
+ * Les générateurs ne sont pas synchronisés : chaque partie, chaque thread et
+ * chaque animation reçoit son propre flux, dérivé d'une racine unique.
+ * <p>
+ * Seuls {@link #forSeed(long)} et {@link #split(long, int)} sont
+ * déterministes : une partie est entièrement déterminée par sa propre graine,
+ * conservée dans les sauvegardes, et une simulation par la sienne. La propriété
+ * système {@code game.seed} fixe la racine, ce qui ne rend reproductible qu'un
+ * programme à un seul thread : les flux des threads sont dérivés dans l'ordre
+ * où chacun appelle {@link #current()} ou {@link #newSeed()} pour la première
+ * fois. Une valeur qui n'est pas un {@code long} est signalée et ignorée.
+ */
+public final class GameRandom {
+    private static final SplittableRandom ROOT = createRoot();
+
+    private static final ThreadLocal<SplittableRandom> PER_THREAD = ThreadLocal.withInitial(GameRandom::newStream);
+
+    private GameRandom() {
+    }
+
+    /**
+     * Retourne une nouvelle graine de partie.
+     *
+     * @return Une graine tirée du flux du thread courant.
+     */
+    public static long newSeed() {
+        return PER_THREAD.get().nextLong();
+    }
+
+    /**
+     * Retourne un générateur déterministe pour la graine spécifiée.
+     *
+     * @param seed La graine.
+     * @return Un nouveau générateur.
+     */
+    public static SplittableRandom forSeed(long seed) {
+        return new SplittableRandom(seed);
+    }
+
+    /**
+     * Retourne le générateur propre au thread courant. Il ne doit pas être partagé
+     * avec d'autres threads.
+     *
+     * @return Le générateur du thread courant.
+     */
+    public static RandomGenerator current() {
+        return PER_THREAD.get();
+    }
+
+    /**
+     * Retourne un nouveau flux indépendant, dérivé de la racine, pour un
+     * composant confiné à un seul thread (par exemple une animation).
+     *
+     * @return Un nouveau générateur.
+     */
+    public static SplittableRandom newStream() {
+        synchronized (ROOT) {
+            return ROOT.split();
+        }
+    }
+
+    /**
+     * Dérive des flux indépendants et reproductibles d'une graine, un par tâche
+     * de simulation.
+     *
+     * @param seed  La graine racine.
+     * @param count Le nombre de flux.
+     * @return Les générateurs.
+     */
+    public static SplittableRandom[] split(long seed, int count) {
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[count];
+        for (int i = 0; i < count; i++) {
+            streams[i] = root.split();
+        }
+        return streams;
+    }
+
+    private static SplittableRandom createRoot() {
+        String seed = System.getProperty("game.seed");
+        if (seed != null) {
+            try {
+                return new SplittableRandom(Long.parseLong(seed.trim()));
+            } catch (NumberFormatException e) {
+                // Une exception ici ferait échouer l'initialisation de la classe
+                System.err.println("Ignoring game.seed: \"" + seed + "\" is not a long");
+            }
+        }
+        return new SplittableRandom();
+    }
+}
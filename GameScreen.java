@@ -5,8 +5,6 @@ import java.awt.event.ActionListener;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
-import java.io.File;
-import java.io.IOException;
 import javax.swing.*;
 import javax.swing.border.TitledBorder;
 import javax.swing.event.AncestorEvent;
@@ -14,6 +12,7 @@ import javax.swing.event.AncestorListener;
 
 public class GameScreen extends JPanel {
     private GuessingGame game;
+    private EventLog.Trail eventTrail;
     private JLabel instructionLabel;
     private JLabel displayLabel;
     private JPanel keypadPanel;
@@ -22,8 +21,8 @@ public class GameScreen extends JPanel {
     private JLabel scoreLabel;
     private JButton backButton;
     private JButton saveGameButton;
-    private DefaultListModel<String> greaterListModel;
-    private DefaultListModel<String> lesserListModel;
+    private GuessHistoryListModel greaterListModel;
+    private GuessHistoryListModel lesserListModel;
     private JList<String> greaterList;
     private JList<String> lesserList;
     private Font instructionFont;
@@ -55,24 +54,22 @@ public class GameScreen extends JPanel {
         } else {
             this.game = new GuessingGame(difficulty);
         }
+        GameMetrics.get().track(game);
+        eventTrail = EventLog.get().track(game);
+        GuessJournal journal = welcomeScreen.getJournal();
+        if (journal != null) {
+            journal.begin(game, welcomeScreen.getPlayer());
+        }
         setLayout(new BorderLayout());
         setBackground(backgroundColor);
 
         // Initialize fonts, components, and key listeners
-        instructionFont = loadFont("font/DK.otf", 24f);
-        keypadFont = loadFont("font/MagicNeys.otf", 24f);
+        instructionFont = AssetManager.font(AssetManager.DK_FONT, 24f);
+        keypadFont = AssetManager.font(AssetManager.PLAYER_FONT, 24f);
         buttonFont = instructionFont;
-        displayFont = loadFont("font/Montserrat.ttf", 32f);
+        displayFont = AssetManager.font(AssetManager.DISPLAY_FONT, 32f);
         initComponents();
 
-        // Preload guess lists
-        for (String guess : game.getGreaterGuesses()) {
-            greaterListModel.addElement(guess);
-        }
-        for (String guess : game.getLesserGuesses()) {
-            lesserListModel.addElement(guess);
-        }
-
         // Add key listener and focus handling
         addKeyListener(new KeyAdapter() {
             @Override
@@ -135,6 +132,12 @@ public class GameScreen extends JPanel {
             }
         });
         countdownTimer.start();
+        // Le chronomètre s'arrête et les listes se détachent du jeu quand l'écran est retiré de la fenêtre
+        welcomeScreen.getAnimations().register(this, () -> {
+            countdownTimer.stop();
+            game.removeListener(greaterListModel);
+            game.removeListener(lesserListModel);
+        });
     }
 
     /**
@@ -241,13 +244,8 @@ public class GameScreen extends JPanel {
 
         submitButton.addActionListener(e -> checkGuess());
         backButton.addActionListener(e -> goBack());
-        saveGameButton.addActionListener(e -> {
-            try {
-                game.saveGame(welcomeScreen.getPlayer(), "player.txt");
-            } catch (IOException e1) {
-                e1.printStackTrace();
-            }
-        });
+        // Sauvegarde en arrière-plan : l'EDT ne fait que prendre l'instantané
+        saveGameButton.addActionListener(e -> welcomeScreen.saveGame(game));
         // requestFocusInWindow();
     }
 
@@ -303,14 +301,21 @@ public class GameScreen extends JPanel {
         JPanel panel = new JPanel(new GridLayout(2, 1, 10, 10));
         panel.setOpaque(false);
 
-        greaterListModel = new DefaultListModel<>();
-        lesserListModel = new DefaultListModel<>();
+        // "Plus Grand" : le nombre est plus grand que ces suppositions trop petites, et inversement
+        greaterListModel = new GuessHistoryListModel(game, game.getLesserHistory(), GuessResult.LOW);
+        lesserListModel = new GuessHistoryListModel(game, game.getGreaterHistory(), GuessResult.HIGH);
+        game.addListener(greaterListModel);
+        game.addListener(lesserListModel);
 
         greaterList = new JList<>(greaterListModel);
         lesserList = new JList<>(lesserListModel);
 
         greaterList.setFont(displayFont);
         lesserList.setFont(displayFont);
+        // Cellules de taille fixe : seules les lignes visibles sont mesurées et dessinées
+        String widest = game.formatNumber(game.getMaxRange());
+        greaterList.setPrototypeCellValue(widest);
+        lesserList.setPrototypeCellValue(widest);
 
         JScrollPane greaterScrollPane = new JScrollPane(greaterList);
         greaterScrollPane.setPreferredSize(new Dimension(200, 150));
@@ -372,24 +377,26 @@ public class GameScreen extends JPanel {
      * Vérifie la réponse de l'utilisateur et met à jour l'état du jeu.
      */
     private void checkGuess() {
+        long submitted = System.nanoTime();
         String input = userInput.toString();
-        String feedback = game.checkGuess(input, welcomeScreen.getPlayer());
-        feedbackLabel.setText(feedback);
+        GuessResult result = game.evaluateGuess(input, welcomeScreen.getPlayer());
+        if (result == GuessResult.INVALID || result == GuessResult.OUT_OF_RANGE || result == GuessResult.ENDED) {
+            eventTrail.rejected(game, result);
+        }
+        feedbackLabel.setText(GuessMessages.feedback(result, game));
 
         // Update the score label after each guess
         scoreLabel.setText("Score: " + game.getCurrentScore());
+        // Le repaint des libellés est déjà en file : cet événement passe après lui
+        SwingUtilities.invokeLater(() -> GameMetrics.get().recordGuessLatency(System.nanoTime() - submitted));
 
-        if (feedback.equals("Correct ! Félicitations !")) {
+        if (result == GuessResult.CORRECT) {
             submitButton.setEnabled(false);
             for (Component component : keypadPanel.getComponents()) {
                 component.setEnabled(false);
             }
 
             endGame("Gagné !");
-        } else if (feedback.equals("Trop petit !")) {
-            greaterListModel.addElement(input.toUpperCase());
-        } else if (feedback.equals("Trop grand !")) {
-            lesserListModel.addElement(input.toUpperCase());
         }
         if (game.getCurrentScore() == 0) {
             endGame("Game Over!");
@@ -405,25 +412,6 @@ public class GameScreen extends JPanel {
         welcomeScreen.showWelcomeScreen();
     }
 
-    /**
-     * Charge une police de caractères à partir du chemin spécifié.
-     *
-     * @param fontPath Le chemin d'accès au fichier de police.
-     * @param size     La taille de la police.
-     * @return La police chargée.
-     */
-    private Font loadFont(String fontPath, float size) {
-        try {
-            Font font = Font.createFont(Font.TRUETYPE_FONT, new File(fontPath));
-            GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-            ge.registerFont(font);
-            return font.deriveFont(size);
-        } catch (FontFormatException | IOException e) {
-            e.printStackTrace();
-            return new Font("SansSerif", Font.PLAIN, (int) size);
-        }
-    }
-
     /**
      * Panneau personnalisé représentant un téléphone.
      */
@@ -0,0 +1,112 @@
+import java.util.function.Consumer;
+
+/**
+ * Une partie en cours dans le {@link GameSessionRegistry}.
+ * L'état du {@link GuessingGame} sous-jacent n'est pas thread-safe : toutes les
+ * opérations de la session sont sérialisées sur le moniteur de la session, ce
+ * qui confine le jeu tout en laissant les autres sessions progresser en
+ * parallèle.
+ */
+public class GameSession {
+    private final long id;
+    private final GuessingGame game;
+    private final PlayerUser player;
+
+    /**
+     * Constructeur de la classe GameSession.
+     *
+     * @param id     L'identifiant de la session.
+     * @param game   Le jeu de la session.
+     * @param player Le joueur de la session.
+     */
+    GameSession(long id, GuessingGame game, PlayerUser player) {
+        this.id = id;
+        this.game = game;
+        this.player = player;
+    }
+
+    /**
+     * Retourne l'identifiant de la session.
+     *
+     * @return L'identifiant de la session.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Retourne le joueur de la session.
+     *
+     * @return Le joueur de la session.
+     */
+    public PlayerUser getPlayer() {
+        return player;
+    }
+
+    /**
+     * Évalue une supposition pour cette session.
+     *
+     * @param guess La supposition du joueur.
+     * @return Le résultat de la supposition.
+     */
+    public synchronized GuessResult guess(int guess) {
+        return game.evaluateGuess(guess, player);
+    }
+
+    /**
+     * Indique si la partie de la session est terminée (gagnée, temps écoulé ou
+     * score nul).
+     *
+     * @return true si la partie est terminée, sinon false.
+     */
+    public synchronized boolean isOver() {
+        return game.isOver();
+    }
+
+    /**
+     * Décrémente le temps restant de la session d'une seconde.
+     *
+     * @return Le temps restant en secondes.
+     */
+    public synchronized int tick() {
+        game.decrementTimeRemaining();
+        return game.getTimeRemaining();
+    }
+
+    /**
+     * Retourne le score actuel de la session.
+     *
+     * @return Le score actuel.
+     */
+    public synchronized int getCurrentScore() {
+        return game.getCurrentScore();
+    }
+
+    /**
+     * Retourne le temps restant de la session.
+     *
+     * @return Le temps restant en secondes.
+     */
+    public synchronized int getTimeRemaining() {
+        return game.getTimeRemaining();
+    }
+
+    /**
+     * Retourne la difficulté de la session.
+     *
+     * @return La difficulté du jeu.
+     */
+    public String getDifficulty() {
+        return game.getDifficulty();
+    }
+
+    /**
+     * Exécute une action sur le jeu de la session en détenant son verrou. Le jeu
+     * ne doit pas être conservé en dehors de l'action.
+     *
+     * @param action L'action à exécuter.
+     */
+    public synchronized void withGame(Consumer<GuessingGame> action) {
+        action.accept(game);
+    }
+}
@@ -0,0 +1,124 @@
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registre concurrent des parties en cours, permettant de faire tourner des
+ * milliers de {@link GuessingGame} dans la même JVM.
+ * Les sessions sont stockées dans une {@link ConcurrentHashMap} (verrouillage
+ * par segment, lectures sans verrou) et publiées de manière sûre par celle-ci ;
+ * chaque session sérialise ensuite ses propres accès.
+ */
+public class GameSessionRegistry {
+    private final ConcurrentHashMap<Long, GameSession> sessions;
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    /**
+     * Constructeur par défaut de la classe GameSessionRegistry.
+     */
+    public GameSessionRegistry() {
+        this(1024);
+    }
+
+    /**
+     * Constructeur de la classe GameSessionRegistry avec une capacité initiale.
+     *
+     * @param expectedSessions Le nombre de sessions simultanées attendu.
+     */
+    public GameSessionRegistry(int expectedSessions) {
+        this.sessions = new ConcurrentHashMap<>(expectedSessions);
+    }
+
+    /**
+     * Crée une nouvelle session avec la difficulté spécifiée.
+     *
+     * @param difficulty La difficulté du jeu.
+     * @param player     Le joueur de la session.
+     * @return La session créée.
+     */
+    public GameSession create(String difficulty, PlayerUser player) {
+        return create(difficulty, player, GameRandom.newSeed());
+    }
+
+    /**
+     * Crée une nouvelle session reproductible avec la difficulté et la graine
+     * spécifiées.
+     *
+     * @param difficulty La difficulté du jeu.
+     * @param player     Le joueur de la session.
+     * @param seed       La graine de la partie.
+     * @return La session créée.
+     */
+    public GameSession create(String difficulty, PlayerUser player, long seed) {
+        long id = nextId.getAndIncrement();
+        GuessingGame game = new GuessingGame(difficulty, seed);
+        GameMetrics.get().track(game);
+        EventLog.get().track(game);
+        GameSession session = new GameSession(id, game, player);
+        sessions.put(id, session);
+        return session;
+    }
+
+    /**
+     * Retourne la session correspondant à l'identifiant.
+     *
+     * @param id L'identifiant de la session.
+     * @return La session, ou null si elle n'existe pas ou a été retirée.
+     */
+    public GameSession get(long id) {
+        return sessions.get(id);
+    }
+
+    /**
+     * Retire la session correspondant à l'identifiant.
+     *
+     * @param id L'identifiant de la session.
+     * @return La session retirée, ou null si elle n'existait pas.
+     */
+    public GameSession retire(long id) {
+        return sessions.remove(id);
+    }
+
+    /**
+     * Évalue une supposition pour la session spécifiée. Une session dont la
+     * partie se termine (gagnée ou score nul) est retirée du registre.
+     *
+     * @param id    L'identifiant de la session.
+     * @param guess La supposition du joueur.
+     * @return Le résultat de la supposition.
+     * @throws IllegalArgumentException Si la session n'existe pas.
+     */
+    public GuessResult guess(long id, int guess) {
+        GameSession session = sessions.get(id);
+        if (session == null) {
+            throw new IllegalArgumentException("Unknown session: " + id);
+        }
+        GuessResult result = session.guess(guess);
+        if (session.isOver()) {
+            sessions.remove(id, session);
+        }
+        return result;
+    }
+
+    /**
+     * Décrémente le temps restant de toutes les sessions et retire celles dont la
+     * partie est terminée, y compris celles terminées par
+     * {@link GameSession#guess(int)} appelée directement. Le parcours est réparti
+     * sur le pool fork/join commun lorsque le registre est grand.
+     */
+    public void tickAll() {
+        sessions.forEachValue(4096, session -> {
+            if (session.isOver() || session.tick() <= 0) {
+                sessions.remove(session.getId(), session);
+            }
+        });
+    }
+
+    /**
+     * Retourne le nombre de sessions en cours.
+     *
+     * @return Le nombre de sessions.
+     */
+    public int size() {
+        return sessions.size();
+    }
+}
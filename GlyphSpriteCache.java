@@ -0,0 +1,167 @@
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Cache of pre-rendered background glyphs, keyed by (symbol, size, colour).
+ * Each variant is rasterized once, with antialiasing, into a translucent image
+ * compatible with the screen (so Java2D can keep it in video memory), then
+ * simply blitted on every frame. The cache is flushed when the graphics
+ * configuration or the display scale changes.
+ */
+public class GlyphSpriteCache {
+    private final Font baseFont;
+    private final String[] symbols;
+    private final Color[] colors;
+    private final int minSize;
+    private final int sizeCount;
+
+    private final BufferedImage[] sprites;
+    // Offset from the text baseline to the sprite's top-left corner, and logical size
+    private final int[] offsetX;
+    private final int[] offsetY;
+    private final int[] widths;
+    private final int[] heights;
+
+    // Union of every glyph's bounds relative to its baseline, computed on first use
+    private Rectangle maxBounds;
+
+    private GraphicsConfiguration configuration;
+    private double scaleX = 1;
+    private double scaleY = 1;
+
+    public GlyphSpriteCache(Font baseFont, String[] symbols, Color[] colors, int minSize, int maxSize) {
+        this.baseFont = baseFont;
+        this.symbols = symbols;
+        this.colors = colors;
+        this.minSize = minSize;
+        this.sizeCount = maxSize - minSize + 1;
+        int count = symbols.length * sizeCount * colors.length;
+        sprites = new BufferedImage[count];
+        offsetX = new int[count];
+        offsetY = new int[count];
+        widths = new int[count];
+        heights = new int[count];
+    }
+
+    /**
+     * Draws a glyph with its baseline at (x, y), like {@link Graphics2D#drawString}.
+     * {@link #validate(Graphics2D)} must have been called for the current frame.
+     */
+    public void draw(Graphics2D g, int symbolIndex, int size, int colorIndex, int x, int y) {
+        int sizeIndex = size - minSize;
+        if (sizeIndex < 0 || sizeIndex >= sizeCount) {
+            // Not cacheable: fall back to direct text rendering
+            g.setFont(baseFont.deriveFont(Font.PLAIN, size));
+            g.setColor(colors[colorIndex]);
+            g.drawString(symbols[symbolIndex], x, y);
+            return;
+        }
+        int key = (symbolIndex * sizeCount + sizeIndex) * colors.length + colorIndex;
+        BufferedImage sprite = sprites[key];
+        if (sprite == null) {
+            sprite = render(key, symbolIndex, size, colorIndex);
+        }
+        if (sprite.getWidth() == widths[key] && sprite.getHeight() == heights[key]) {
+            g.drawImage(sprite, x + offsetX[key], y + offsetY[key], null);
+        } else {
+            g.drawImage(sprite, x + offsetX[key], y + offsetY[key], widths[key], heights[key], null);
+        }
+    }
+
+    /**
+     * Returns a rectangle, relative to the baseline origin, that contains any
+     * glyph this cache draws, for whatever symbol, size or colour.
+     */
+    public Rectangle getMaxBounds() {
+        if (maxBounds == null) {
+            FontRenderContext context = new FontRenderContext(null, true, true);
+            Rectangle union = null;
+            for (int size = minSize; size < minSize + sizeCount; size++) {
+                Font font = baseFont.deriveFont(Font.PLAIN, size);
+                for (String symbol : symbols) {
+                    Rectangle2D bounds = font.createGlyphVector(context, symbol).getVisualBounds();
+                    // Same padding as the sprites, plus a pixel for rounding of the position
+                    Rectangle glyph = new Rectangle(
+                            (int) Math.floor(bounds.getMinX()) - 2, (int) Math.floor(bounds.getMinY()) - 2,
+                            (int) Math.ceil(bounds.getWidth()) + 4, (int) Math.ceil(bounds.getHeight()) + 4);
+                    union = union == null ? glyph : union.union(glyph);
+                }
+            }
+            maxBounds = union;
+        }
+        return new Rectangle(maxBounds);
+    }
+
+    /**
+     * Drops every sprite; they are rasterized again on next use.
+     */
+    public void flush() {
+        for (int i = 0; i < sprites.length; i++) {
+            if (sprites[i] != null) {
+                sprites[i].flush();
+                sprites[i] = null;
+            }
+        }
+    }
+
+    /**
+     * Checks the graphics configuration and display scale of a frame, dropping the
+     * sprites if either changed. Call once per frame, before drawing.
+     */
+    public void validate(Graphics2D g) {
+        GraphicsConfiguration current = g.getDeviceConfiguration();
+        AffineTransform transform = current.getDefaultTransform();
+        double sx = transform.getScaleX();
+        double sy = transform.getScaleY();
+        if (current != configuration || sx != scaleX || sy != scaleY) {
+            flush();
+            configuration = current;
+            scaleX = sx;
+            scaleY = sy;
+        }
+    }
+
+    private BufferedImage render(int key, int symbolIndex, int size, int colorIndex) {
+        Font font = baseFont.deriveFont(Font.PLAIN, size);
+        FontRenderContext context = new FontRenderContext(null, true, true);
+        GlyphVector glyphs = font.createGlyphVector(context, symbols[symbolIndex]);
+        Rectangle2D bounds = glyphs.getVisualBounds();
+
+        // One pixel of padding for antialiased edges
+        int left = (int) Math.floor(bounds.getMinX()) - 1;
+        int top = (int) Math.floor(bounds.getMinY()) - 1;
+        int width = Math.max(1, (int) Math.ceil(bounds.getMaxX()) + 1 - left);
+        int height = Math.max(1, (int) Math.ceil(bounds.getMaxY()) + 1 - top);
+        int deviceWidth = (int) Math.ceil(width * scaleX);
+        int deviceHeight = (int) Math.ceil(height * scaleY);
+
+        BufferedImage sprite = configuration != null
+                ? configuration.createCompatibleImage(deviceWidth, deviceHeight, Transparency.TRANSLUCENT)
+                : new BufferedImage(deviceWidth, deviceHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = sprite.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.scale(scaleX, scaleY);
+        g.setFont(font);
+        g.setColor(colors[colorIndex]);
+        g.drawString(symbols[symbolIndex], -left, -top);
+        g.dispose();
+
+        sprites[key] = sprite;
+        offsetX[key] = left;
+        offsetY[key] = top;
+        widths[key] = width;
+        heights[key] = height;
+        return sprite;
+    }
+}
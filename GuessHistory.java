@@ -0,0 +1,319 @@
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * Historique des suppositions d'une partie, stocké sous forme de bitset indexé
+ * par décalage à partir de la borne inférieure de la plage.
+ * L'ajout et la détection de doublons sont en O(1) et le parcours se fait dans
+ * l'ordre croissant sans allocation. La plage compte au plus
+ * {@link #MAX_WIDTH} valeurs, pour que les décalages tiennent dans un int.
+ */
+public class GuessHistory implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Nombre maximal de valeurs de la plage. */
+    public static final int MAX_WIDTH = Integer.MAX_VALUE;
+
+    private final int minValue;
+    private final int maxValue;
+    private final long[] words;
+    private int size;
+
+    /**
+     * Constructeur de la classe GuessHistory pour la plage spécifiée.
+     *
+     * @param minValue La borne inférieure de la plage (incluse).
+     * @param maxValue La borne supérieure de la plage (incluse).
+     * @throws IllegalArgumentException Si la plage est vide ou compte plus de
+     *                                  {@link #MAX_WIDTH} valeurs.
+     */
+    public GuessHistory(int minValue, int maxValue) {
+        // Calculée en long : maxValue - minValue déborde au-delà de 2^31 valeurs
+        long width = (long) maxValue - minValue + 1;
+        if (width <= 0 || width > MAX_WIDTH) {
+            throw new IllegalArgumentException("Invalid range: " + minValue + ".." + maxValue);
+        }
+        this.minValue = minValue;
+        this.maxValue = maxValue;
+        this.words = new long[(int) ((width - 1) >>> 6) + 1];
+    }
+
+    /**
+     * Ajoute une supposition à l'historique.
+     *
+     * @param value La supposition à ajouter.
+     * @return true si la supposition est nouvelle, false si elle était déjà
+     *         présente.
+     * @throws IllegalArgumentException Si la valeur est hors de la plage.
+     */
+    public boolean add(int value) {
+        int index = indexOf(value);
+        long mask = 1L << index;
+        int word = index >>> 6;
+        if ((words[word] & mask) != 0) {
+            return false;
+        }
+        words[word] |= mask;
+        size++;
+        return true;
+    }
+
+    /**
+     * Indique si la supposition est déjà présente dans l'historique.
+     *
+     * @param value La supposition à tester.
+     * @return true si la supposition est présente, sinon false.
+     */
+    public boolean contains(int value) {
+        if (value < minValue || value > maxValue) {
+            return false;
+        }
+        int index = value - minValue;
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Retourne le nombre de suppositions dans l'historique.
+     *
+     * @return Le nombre de suppositions.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Indique si l'historique est vide.
+     *
+     * @return true si aucune supposition n'a été enregistrée.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Vide l'historique.
+     */
+    public void clear() {
+        Arrays.fill(words, 0L);
+        size = 0;
+    }
+
+    /**
+     * Retourne la borne inférieure de la plage de l'historique.
+     *
+     * @return La borne inférieure.
+     */
+    public int getMinValue() {
+        return minValue;
+    }
+
+    /**
+     * Retourne la borne supérieure de la plage de l'historique.
+     *
+     * @return La borne supérieure.
+     */
+    public int getMaxValue() {
+        return maxValue;
+    }
+
+    /**
+     * Retourne la plus petite supposition supérieure ou égale à la valeur donnée.
+     * Permet un parcours trié sans allocation :
+     * {@code for (int v = h.next(h.getMinValue()); v != h.end(); v = h.next(v + 1))}.
+     *
+     * @param fromValue La valeur de départ (incluse).
+     * @return La supposition suivante, ou {@link #end()} s'il n'y en a plus.
+     */
+    public int next(int fromValue) {
+        if (fromValue > maxValue) {
+            return end();
+        }
+        int index = Math.max(0, fromValue - minValue);
+        int word = index >>> 6;
+        long bits = words[word] & (-1L << index);
+        while (true) {
+            if (bits != 0) {
+                int found = (word << 6) + Long.numberOfTrailingZeros(bits);
+                return found <= maxValue - minValue ? minValue + found : end();
+            }
+            if (++word == words.length) {
+                return end();
+            }
+            bits = words[word];
+        }
+    }
+
+    /**
+     * Retourne la valeur sentinelle indiquant la fin d'un parcours avec
+     * {@link #next(int)}.
+     *
+     * @return Une valeur strictement supérieure à la borne supérieure.
+     */
+    public int end() {
+        return maxValue == Integer.MAX_VALUE ? Integer.MIN_VALUE : maxValue + 1;
+    }
+
+    /**
+     * Retourne le nombre de suppositions strictement inférieures à la valeur
+     * donnée, c'est-à-dire sa position dans l'ordre croissant.
+     *
+     * @param value La valeur.
+     * @return Le rang de la valeur.
+     */
+    public int rank(int value) {
+        if (value <= minValue) {
+            return 0;
+        }
+        if (value > maxValue) {
+            return size;
+        }
+        int index = value - minValue;
+        int word = index >>> 6;
+        int count = 0;
+        for (int i = 0; i < word; i++) {
+            count += Long.bitCount(words[i]);
+        }
+        return count + Long.bitCount(words[word] & ((1L << index) - 1));
+    }
+
+    /**
+     * Retourne la supposition de rang donné dans l'ordre croissant.
+     *
+     * @param rank Le rang, entre 0 et {@code size() - 1}.
+     * @return La supposition.
+     * @throws IndexOutOfBoundsException Si le rang est hors limites.
+     */
+    public int select(int rank) {
+        if (rank < 0 || rank >= size) {
+            throw new IndexOutOfBoundsException("Rank " + rank + " out of " + size);
+        }
+        int remaining = rank;
+        for (int word = 0; ; word++) {
+            long bits = words[word];
+            int count = Long.bitCount(bits);
+            if (remaining < count) {
+                for (int i = 0; i < remaining; i++) {
+                    bits &= bits - 1;
+                }
+                return minValue + (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            remaining -= count;
+        }
+    }
+
+    /**
+     * Applique une action à chaque supposition, dans l'ordre croissant.
+     *
+     * @param action L'action à appliquer.
+     */
+    public void forEach(IntConsumer action) {
+        for (int word = 0; word < words.length; word++) {
+            long bits = words[word];
+            while (bits != 0) {
+                action.accept(minValue + (word << 6) + Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    /**
+     * Retourne une vue textuelle, triée et non modifiable de l'historique.
+     *
+     * @param hexMode true pour formater les suppositions en hexadécimal.
+     * @return Un ensemble de suppositions formatées, reflétant l'historique.
+     */
+    public Set<String> asTextSet(boolean hexMode) {
+        return new AbstractSet<String>() {
+            @Override
+            public Iterator<String> iterator() {
+                return new Iterator<String>() {
+                    private int nextValue = GuessHistory.this.next(minValue);
+
+                    @Override
+                    public boolean hasNext() {
+                        return nextValue != end();
+                    }
+
+                    @Override
+                    public String next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        int value = nextValue;
+                        nextValue = GuessHistory.this.next(value + 1);
+                        return hexMode ? Integer.toHexString(value).toUpperCase() : Integer.toString(value);
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                if (!(o instanceof String)) {
+                    return false;
+                }
+                try {
+                    return GuessHistory.this.contains(Integer.parseInt((String) o, hexMode ? 16 : 10));
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Retourne le nombre de mots de 64 bits du bitset.
+     *
+     * @return Le nombre de mots.
+     */
+    int wordCount() {
+        return words.length;
+    }
+
+    /**
+     * Retourne un mot de 64 bits du bitset, pour la sauvegarde.
+     *
+     * @param index L'indice du mot.
+     * @return Le mot.
+     */
+    long getWord(int index) {
+        return words[index];
+    }
+
+    /**
+     * Remplace un mot de 64 bits du bitset, pour le chargement.
+     *
+     * @param index L'indice du mot.
+     * @param word  Le nouveau mot.
+     */
+    void setWord(int index, long word) {
+        if (index == words.length - 1) {
+            int lastBit = (maxValue - minValue) & 63;
+            word &= lastBit == 63 ? -1L : (1L << (lastBit + 1)) - 1;
+        }
+        size += Long.bitCount(word) - Long.bitCount(words[index]);
+        words[index] = word;
+    }
+
+    /**
+     * Retourne l'indice du bit correspondant à la valeur.
+     *
+     * @param value La valeur.
+     * @return L'indice du bit.
+     */
+    private int indexOf(int value) {
+        if (value < minValue || value > maxValue) {
+            throw new IllegalArgumentException("Value out of range: " + value);
+        }
+        return value - minValue;
+    }
+}
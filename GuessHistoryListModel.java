@@ -0,0 +1,111 @@
+import javax.swing.AbstractListModel;
+import javax.swing.SwingUtilities;
+
+/**
+ * Modèle de liste Swing qui affiche directement un {@link GuessHistory} du jeu,
+ * trié par ordre croissant, sans copier les suppositions.
+ * Les éléments sont formatés à la demande : avec une hauteur de cellule fixe
+ * (voir {@link javax.swing.JList#setPrototypeCellValue}), la liste ne demande
+ * que les lignes visibles. Les suppositions ajoutées pendant un même
+ * événement Swing sont publiées ensemble, par un seul événement de liste.
+ * Le modèle doit être utilisé sur l'EDT, qui est aussi le thread du jeu.
+ */
+public class GuessHistoryListModel extends AbstractListModel<String> implements GameListener {
+    private final GuessingGame game;
+    private final GuessHistory history;
+    private final GuessResult tracked;
+
+    // Taille annoncée aux observateurs de la liste
+    private int size;
+    // Suppositions ajoutées depuis la dernière publication
+    private int pendingCount;
+    private int pendingValue;
+    private boolean flushScheduled;
+
+    // Dernier élément lu, pour parcourir les lignes visibles en O(1) chacune
+    private int cursorIndex = -1;
+    private int cursorValue;
+
+    /**
+     * Constructeur de la classe GuessHistoryListModel.
+     *
+     * @param game    Le jeu dont les suppositions sont affichées.
+     * @param history L'historique à afficher.
+     * @param tracked Le résultat des suppositions ajoutées à cet historique
+     *                ({@link GuessResult#LOW} ou {@link GuessResult#HIGH}).
+     */
+    public GuessHistoryListModel(GuessingGame game, GuessHistory history, GuessResult tracked) {
+        this.game = game;
+        this.history = history;
+        this.tracked = tracked;
+        this.size = history.size();
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public String getElementAt(int index) {
+        return game.formatNumber(valueAt(index));
+    }
+
+    @Override
+    public void onGuess(GuessingGame game, int guess, GuessResult result) {
+        if (result != tracked) {
+            return;
+        }
+        pendingCount++;
+        pendingValue = guess;
+        cursorIndex = -1;
+        if (!flushScheduled) {
+            flushScheduled = true;
+            SwingUtilities.invokeLater(this::flush);
+        }
+    }
+
+    /**
+     * Publie les suppositions ajoutées depuis la dernière publication : un
+     * intervalle d'une ligne pour une seule supposition, sinon un seul
+     * événement pour l'ensemble.
+     */
+    public void flush() {
+        flushScheduled = false;
+        int newSize = history.size();
+        int added = newSize - size;
+        int count = pendingCount;
+        pendingCount = 0;
+        cursorIndex = -1;
+        if (added <= 0) {
+            // Suppositions déjà présentes : rien n'a changé
+            return;
+        }
+        size = newSize;
+        if (added == 1 && count == 1) {
+            int rank = history.rank(pendingValue);
+            fireIntervalAdded(this, rank, rank);
+        } else {
+            fireIntervalAdded(this, newSize - added, newSize - 1);
+            fireContentsChanged(this, 0, newSize - 1);
+        }
+    }
+
+    private int valueAt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of " + size);
+        }
+        if (index == cursorIndex) {
+            return cursorValue;
+        }
+        int value;
+        if (cursorIndex >= 0 && index == cursorIndex + 1) {
+            value = history.next(cursorValue + 1);
+        } else {
+            value = history.select(index);
+        }
+        cursorIndex = index;
+        cursorValue = value;
+        return value;
+    }
+}
@@ -0,0 +1,332 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Journal en ajout seul (write-ahead log) de la partie en cours, permettant de
+ * la reconstruire après un arrêt brutal.
+ * Le journal commence par un instantané complet du jeu (même enregistrement que
+ * {@link SaveFile}), suivi d'un enregistrement binaire compact par supposition,
+ * par seconde écoulée et pour la fin de partie. Chaque enregistrement est suivi
+ * de son CRC32C. Les enregistrements sont accumulés en mémoire et écrits puis
+ * synchronisés sur le disque par lots (group commit) : un arrêt brutal fait
+ * perdre au plus une fenêtre de validation.
+ * Les observateurs ne font qu'ajouter au tampon en attente, sous le verrou du
+ * journal ; l'écriture et la synchronisation sont faites par le thread de
+ * validation, sans ce verrou, sur le tampon échangé avec le tampon en attente.
+ * Le thread du jeu n'attend donc jamais le disque.
+ */
+public class GuessJournal implements GameListener, Closeable {
+    /** Intervalle de validation par défaut, en millisecondes. */
+    public static final long DEFAULT_COMMIT_INTERVAL_MS = 50;
+
+    private static final byte SNAPSHOT = 1;
+    private static final byte GUESS = 2;
+    private static final byte TICK = 3;
+    private static final byte END = 4;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    // Écritures du disque, une validation à la fois
+    private final Object ioLock = new Object();
+    // Tampon rempli par les observateurs, sous le verrou du journal
+    private ByteBuffer pending = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    // Tampon en cours d'écriture, sous ioLock
+    private ByteBuffer writing = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    // Le fichier doit être vidé avant d'écrire le tampon en attente
+    private boolean truncatePending;
+    private final ByteBuffer snapshot = ByteBuffer.allocate(SaveFile.RECORD_SIZE);
+    private final CRC32C crc = new CRC32C();
+    private final ScheduledExecutorService committer;
+    private GuessingGame current;
+    private boolean closed;
+
+    /**
+     * Ouvre le journal au chemin spécifié et démarre la validation périodique.
+     *
+     * @param path             Le chemin du journal.
+     * @param commitIntervalMs L'intervalle de validation en millisecondes.
+     * @throws IOException Si le journal ne peut pas être ouvert.
+     */
+    public GuessJournal(Path path, long commitIntervalMs) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.channel.position(channel.size());
+        this.committer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "guess-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        committer.scheduleWithFixedDelay(this::commitQuietly, commitIntervalMs, commitIntervalMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Commence la journalisation d'une nouvelle partie : le journal sera vidé
+     * puis un instantané complet du jeu y sera écrit, par le thread de
+     * validation. Les événements des autres jeux sont ensuite ignorés.
+     *
+     * @param game   Le jeu à journaliser.
+     * @param player Le joueur de la partie.
+     */
+    public synchronized void begin(GuessingGame game, PlayerUser player) {
+        if (closed) {
+            return;
+        }
+        if (current != null) {
+            current.removeListener(this);
+        }
+        current = game;
+        // Les enregistrements de l'ancienne partie sont abandonnés avec le fichier
+        pending.clear();
+        truncatePending = true;
+
+        snapshot.clear();
+        game.writeRecord(snapshot, player);
+        while (snapshot.hasRemaining()) {
+            snapshot.put((byte) 0);
+        }
+        snapshot.flip();
+        int start = pending.position();
+        pending.put(SNAPSHOT).put(snapshot);
+        seal(start);
+        game.addListener(this);
+        scheduleCommit();
+    }
+
+    @Override
+    public synchronized void onGuess(GuessingGame game, int guess, GuessResult result) {
+        if (game != current || !ensureCapacity(14)) {
+            return;
+        }
+        int start = pending.position();
+        pending.put(GUESS).putInt(guess).put((byte) result.ordinal()).putInt(game.getCurrentScore());
+        seal(start);
+    }
+
+    @Override
+    public synchronized void onTick(GuessingGame game) {
+        if (game != current || !ensureCapacity(9)) {
+            return;
+        }
+        int start = pending.position();
+        pending.put(TICK).putInt(game.getTimeRemaining());
+        seal(start);
+    }
+
+    @Override
+    public synchronized void onEnd(GuessingGame game, GameOutcome outcome) {
+        if (game != current || !ensureCapacity(6)) {
+            return;
+        }
+        int start = pending.position();
+        pending.put(END).put((byte) outcome.ordinal());
+        seal(start);
+    }
+
+    /**
+     * Écrit les enregistrements en attente et les synchronise sur le disque. Le
+     * verrou du journal n'est tenu que pour échanger les tampons : les
+     * observateurs peuvent continuer pendant l'écriture.
+     *
+     * @throws IOException Si une erreur d'entrée/sortie se produit.
+     */
+    public void commit() throws IOException {
+        synchronized (ioLock) {
+            boolean truncate;
+            synchronized (this) {
+                if (closed || (pending.position() == 0 && !truncatePending)) {
+                    return;
+                }
+                ByteBuffer filled = pending;
+                pending = writing;
+                writing = filled;
+                truncate = truncatePending;
+                truncatePending = false;
+            }
+            if (truncate) {
+                channel.truncate(0);
+                channel.position(0);
+            }
+            writing.flip();
+            try {
+                while (writing.hasRemaining()) {
+                    channel.write(writing);
+                }
+            } finally {
+                writing.clear();
+            }
+            channel.force(false);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        committer.shutdown();
+        try {
+            committer.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        commit();
+        synchronized (ioLock) {
+            synchronized (this) {
+                closed = true;
+            }
+            channel.close();
+        }
+    }
+
+    /**
+     * Reconstruit la dernière partie du journal en rejouant ses enregistrements.
+     * La lecture s'arrête au premier enregistrement tronqué ou corrompu. Le
+     * joueur n'est modifié que si une partie est reconstruite.
+     *
+     * @param path   Le chemin du journal.
+     * @param player Le joueur dont les données seront restaurées.
+     * @return La partie reconstruite, ou null si le journal est vide ou si la
+     *         partie était terminée.
+     * @throws IOException Si le journal ne peut pas être lu.
+     */
+    public static GuessingGame recover(Path path, PlayerUser player) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        ByteBuffer log = ByteBuffer.wrap(Files.readAllBytes(path));
+        CRC32C crc = new CRC32C();
+        // Un instantané suivi d'une fin de partie ne doit pas toucher au joueur
+        PlayerUser recovered = new PlayerUser("", 0);
+        GuessingGame game = null;
+        while (log.remaining() >= 5) {
+            int start = log.position();
+            int length = recordLength(log.get(start));
+            if (length < 0 || log.remaining() < length + 4) {
+                break;
+            }
+            crc.reset();
+            crc.update(log.array(), start, length);
+            if (log.getInt(start + length) != (int) crc.getValue()) {
+                break;
+            }
+            byte type = log.get();
+            switch (type) {
+                case SNAPSHOT:
+                    ByteBuffer record = log.slice();
+                    record.limit(SaveFile.RECORD_SIZE);
+                    game = GuessingGame.readRecord(record, recovered);
+                    break;
+                case GUESS:
+                    if (game != null) {
+                        int guess = log.getInt();
+                        log.get();
+                        int score = log.getInt();
+                        game.evaluateGuess(guess, null);
+                        game.setCurrentScore(score);
+                    }
+                    break;
+                case TICK:
+                    if (game != null) {
+                        game.setTimeRemaining(log.getInt());
+                    }
+                    break;
+                case END:
+                    game = null;
+                    break;
+                default:
+                    break;
+            }
+            log.position(start + length + 4);
+        }
+        if (game == null || game.isOver()) {
+            return null;
+        }
+        player.setNickName(recovered.getNickName());
+        player.setScore(recovered.getScore());
+        return game;
+    }
+
+    /**
+     * Retourne la taille d'un enregistrement, type compris et CRC exclu.
+     *
+     * @param type Le type de l'enregistrement.
+     * @return La taille de l'enregistrement, ou -1 si le type est inconnu.
+     */
+    private static int recordLength(byte type) {
+        switch (type) {
+            case SNAPSHOT:
+                return 1 + SaveFile.RECORD_SIZE;
+            case GUESS:
+                return 10;
+            case TICK:
+                return 5;
+            case END:
+                return 2;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Ajoute le CRC32C de l'enregistrement commençant à la position donnée.
+     *
+     * @param start La position du début de l'enregistrement.
+     */
+    private void seal(int start) {
+        int end = pending.position();
+        pending.position(start).limit(end);
+        crc.reset();
+        crc.update(pending);
+        pending.limit(pending.capacity());
+        pending.putInt((int) crc.getValue());
+    }
+
+    /**
+     * S'assure que le tampon peut recevoir un enregistrement. S'il est plein
+     * avant la prochaine validation, il est agrandi plutôt que d'écrire sur le
+     * thread du jeu.
+     *
+     * @param size La taille de l'enregistrement, CRC compris.
+     * @return false si le journal est fermé.
+     */
+    private boolean ensureCapacity(int size) {
+        if (closed) {
+            return false;
+        }
+        if (pending.remaining() < size) {
+            ByteBuffer larger = ByteBuffer.allocateDirect(Math.max(2 * pending.capacity(), pending.position() + size));
+            pending.flip();
+            larger.put(pending);
+            pending = larger;
+            scheduleCommit();
+        }
+        return true;
+    }
+
+    /**
+     * Demande une validation au thread de validation, sans attendre.
+     */
+    private void scheduleCommit() {
+        try {
+            committer.execute(this::commitQuietly);
+        } catch (RejectedExecutionException e) {
+            // Journal en cours de fermeture : close() valide ce qui reste
+        }
+    }
+
+    private void commitQuietly() {
+        try {
+            commit();
+        } catch (IOException e) {
+            System.err.println("Could not commit the guess journal: " + e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * Couche de localisation des messages de feedback du jeu.
+ * Le moteur ({@link GuessingGame}) ne manipule que des {@link GuessResult} ;
+ * le texte affiché au joueur n'est construit qu'ici, au moment de l'affichage.
+ */
+public final class GuessMessages {
+    private static final String INVALID = "Veuillez entrer un nombre valide.";
+    private static final String CORRECT = "Correct ! Félicitations !";
+    private static final String LOW = "Trop petit !";
+    private static final String HIGH = "Trop grand !";
+    private static final String ENDED = "La partie est terminée.";
+
+    private GuessMessages() {
+    }
+
+    /**
+     * Retourne le message de feedback correspondant au résultat d'une supposition.
+     *
+     * @param result Le résultat de la supposition.
+     * @param game   Le jeu concerné, utilisé pour décrire la plage de valeurs.
+     * @return Le message à afficher au joueur.
+     */
+    public static String feedback(GuessResult result, GuessingGame game) {
+        switch (result) {
+            case CORRECT:
+                return CORRECT;
+            case LOW:
+                return LOW;
+            case HIGH:
+                return HIGH;
+            case OUT_OF_RANGE:
+                return outOfRange(game);
+            case ENDED:
+                return ENDED;
+            case INVALID:
+            default:
+                return INVALID;
+        }
+    }
+
+    /**
+     * Retourne le message indiquant la plage de valeurs autorisée.
+     *
+     * @param game Le jeu concerné.
+     * @return Le message de plage invalide.
+     */
+    private static String outOfRange(GuessingGame game) {
+        return String.format("Veuillez entrer un nombre entre %s et %s.",
+                game.formatNumber(game.getMinRange()), game.formatNumber(game.getMaxRange()));
+    }
+}
@@ -0,0 +1,19 @@
+/**
+ * Résultat de l'évaluation d'une supposition par le moteur de jeu.
+ * Les valeurs sont des constantes partagées : l'évaluation n'alloue rien et le
+ * rendu du message est délégué à {@link GuessMessages}.
+ */
+public enum GuessResult {
+    /** La supposition est plus petite que le nombre cible. */
+    LOW,
+    /** La supposition est plus grande que le nombre cible. */
+    HIGH,
+    /** La supposition est égale au nombre cible. */
+    CORRECT,
+    /** La supposition est en dehors de la plage de la difficulté. */
+    OUT_OF_RANGE,
+    /** L'entrée n'est pas un nombre valide. */
+    INVALID,
+    /** La partie est déjà terminée : la supposition est ignorée. */
+    ENDED
+}
@@ -0,0 +1,108 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * Stratégie de jeu d'un joueur automatique, utilisée par
+ * {@link SelfPlaySimulator}. Les implémentations doivent être sans état (ou
+ * thread-safe) : une même stratégie est partagée par tous les threads de la
+ * simulation.
+ */
+public interface GuessStrategy {
+    /**
+     * Choisit la prochaine supposition.
+     *
+     * @param low    La plus petite valeur encore possible.
+     * @param high   La plus grande valeur encore possible.
+     * @param random Le générateur aléatoire du thread courant.
+     * @return La supposition à jouer.
+     */
+    int nextGuess(int low, int high, RandomGenerator random);
+
+    /**
+     * Retourne le temps de réflexion avant une supposition, en secondes.
+     *
+     * @param random Le générateur aléatoire du thread courant.
+     * @return Le temps de réflexion en secondes.
+     */
+    int thinkTime(RandomGenerator random);
+
+    /**
+     * Recherche dichotomique optimale : joue toujours le milieu de l'intervalle
+     * restant, en une seconde.
+     *
+     * @return La stratégie de recherche dichotomique.
+     */
+    static GuessStrategy binarySearch() {
+        return new GuessStrategy() {
+            @Override
+            public int nextGuess(int low, int high, RandomGenerator random) {
+                return low + (high - low) / 2;
+            }
+
+            @Override
+            public int thinkTime(RandomGenerator random) {
+                return 1;
+            }
+
+            @Override
+            public String toString() {
+                return "binaire";
+            }
+        };
+    }
+
+    /**
+     * Joue une valeur uniforme dans l'intervalle restant, en une seconde.
+     *
+     * @return La stratégie aléatoire.
+     */
+    static GuessStrategy random() {
+        return new GuessStrategy() {
+            @Override
+            public int nextGuess(int low, int high, RandomGenerator random) {
+                return random.nextInt(low, high + 1);
+            }
+
+            @Override
+            public int thinkTime(RandomGenerator random) {
+                return 1;
+            }
+
+            @Override
+            public String toString() {
+                return "aléatoire";
+            }
+        };
+    }
+
+    /**
+     * Joueur humain imparfait : vise le milieu de l'intervalle restant avec une
+     * erreur gaussienne proportionnelle à sa largeur, et réfléchit entre
+     * {@code minThink} et {@code maxThink} secondes.
+     *
+     * @param noise    L'écart type de l'erreur, en fraction de la largeur de
+     *                 l'intervalle.
+     * @param minThink Le temps de réflexion minimal en secondes.
+     * @param maxThink Le temps de réflexion maximal en secondes.
+     * @return La stratégie humaine bruitée.
+     */
+    static GuessStrategy noisyHuman(double noise, int minThink, int maxThink) {
+        return new GuessStrategy() {
+            @Override
+            public int nextGuess(int low, int high, RandomGenerator random) {
+                double middle = low + (high - low) / 2.0;
+                long guess = Math.round(middle + random.nextGaussian() * noise * (high - low));
+                return (int) Math.max(low, Math.min(high, guess));
+            }
+
+            @Override
+            public int thinkTime(RandomGenerator random) {
+                return random.nextInt(minThink, maxThink + 1);
+            }
+
+            @Override
+            public String toString() {
+                return "humain";
+            }
+        };
+    }
+}
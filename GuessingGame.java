@@ -1,21 +1,31 @@
 import java.io.*;
-import java.util.HashSet;
-import java.util.Random;
+import java.nio.ByteBuffer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
 import java.util.Set;
 
 public class GuessingGame implements Serializable {
     private static final long serialVersionUID = 1L;
 
+    /** Nombre maximal de mots de 64 bits par historique dans une sauvegarde v2. */
+    private static final int SAVED_HISTORY_WORDS = 4;
+
     private int targetNumber;
     private int timeRemaining;
     private int currentScore;
     private int minRange;
     private int maxRange;
     private boolean isHexMode;
-    private Set<String> greaterGuesses = new HashSet<>();
-    private Set<String> lesserGuesses = new HashSet<>();
-    private Random random = new Random();
+    private GuessHistory greaterGuesses;
+    private GuessHistory lesserGuesses;
+    private long seed;
     private String difficulty;
+    private GameOutcome outcome;
+    private transient GameListener[] listeners = new GameListener[0];
 
     /**
      * Constructeur de la classe GuessingGame avec la difficulté spécifiée.
@@ -24,27 +34,46 @@ public class GuessingGame implements Serializable {
      *                   "Extrême").
      */
     public GuessingGame(String difficulty) {
+        this(difficulty, GameRandom.newSeed());
+    }
+
+    /**
+     * Constructeur de la classe GuessingGame avec la difficulté et la graine
+     * spécifiées. Deux parties de même difficulté et de même graine ont le même
+     * nombre cible.
+     *
+     * @param difficulty La difficulté du jeu ("Facile", "Moyen", "Difficile",
+     *                   "Extrême").
+     * @param seed       La graine de la partie.
+     */
+    public GuessingGame(String difficulty, long seed) {
+        this.seed = seed;
         configureDifficulty(difficulty);
         generateTargetNumber();
         this.difficulty = difficulty;
+        this.currentScore = getStartingScore(difficulty);
+        this.timeRemaining = 90;
+    }
+
+    /**
+     * Retourne le score de départ associé à une difficulté.
+     *
+     * @param difficulty La difficulté du jeu.
+     * @return Le score de départ.
+     */
+    private static int getStartingScore(String difficulty) {
         switch (difficulty) {
             case "Facile":
-                this.currentScore = 100;
-                break;
+                return 100;
             case "Moyen":
-                this.currentScore = 200;
-                break;
+                return 200;
             case "Difficile":
-                this.currentScore = 300;
-                break;
+                return 300;
             case "Extrême":
-                this.currentScore = 500;
-                break;
+                return 500;
             default:
-                this.currentScore = 100;
-                break;
+                return 100;
         }
-        this.timeRemaining = 90;
     }
 
     /**
@@ -52,6 +81,7 @@ public class GuessingGame implements Serializable {
      */
     public GuessingGame() {
         this.difficulty = "none";
+        resetGuessHistory();
     }
 
     /**
@@ -88,13 +118,32 @@ public class GuessingGame implements Serializable {
                 isHexMode = false;
                 break;
         }
+        resetGuessHistory();
+    }
+
+    /**
+     * Réinitialise les historiques de suppositions pour la plage de valeurs
+     * actuelle.
+     */
+    private void resetGuessHistory() {
+        greaterGuesses = new GuessHistory(minRange, maxRange);
+        lesserGuesses = new GuessHistory(minRange, maxRange);
     }
 
     /**
      * Génère un nombre cible aléatoire en fonction des plages de valeurs.
      */
     private void generateTargetNumber() {
-        targetNumber = random.nextInt(maxRange - minRange + 1) + minRange;
+        targetNumber = GameRandom.forSeed(seed).nextInt(minRange, maxRange + 1);
+    }
+
+    /**
+     * Retourne la graine de la partie, qui permet de la reproduire.
+     *
+     * @return La graine de la partie.
+     */
+    public long getSeed() {
+        return seed;
     }
 
     /**
@@ -129,55 +178,142 @@ public class GuessingGame implements Serializable {
      * @return Le message de feedback en fonction de la supposition.
      */
     public String checkGuess(String input, PlayerUser player) {
+        return GuessMessages.feedback(evaluateGuess(input, player), this);
+    }
+
+    /**
+     * Analyse la supposition textuelle de l'utilisateur puis l'évalue.
+     *
+     * @param input  La supposition de l'utilisateur.
+     * @param player Le joueur qui effectue la supposition.
+     * @return Le résultat de la supposition, {@link GuessResult#INVALID} si
+     *         l'entrée n'est pas un nombre.
+     */
+    public GuessResult evaluateGuess(String input, PlayerUser player) {
         int guess;
         try {
             guess = isHexMode ? Integer.parseInt(input, 16) : Integer.parseInt(input);
         } catch (NumberFormatException e) {
-            return "Veuillez entrer un nombre valide.";
+            return GuessResult.INVALID;
         }
+        return evaluateGuess(guess, player);
+    }
 
+    /**
+     * Évalue une supposition déjà analysée et met à jour le score et les listes de
+     * suppositions. Aucun message n'est construit : le rendu est fait par
+     * {@link GuessMessages}.
+     *
+     * @param guess  La supposition de l'utilisateur.
+     * @param player Le joueur qui effectue la supposition, ou null pour un joueur
+     *               automatique.
+     * @return Le résultat de la supposition, {@link GuessResult#ENDED} si la
+     *         partie est déjà terminée.
+     */
+    public GuessResult evaluateGuess(int guess, PlayerUser player) {
+        if (isOver()) {
+            // Ni score, ni historique, ni observateurs après la fin
+            return GuessResult.ENDED;
+        }
         if (guess < minRange || guess > maxRange) {
-            return isHexMode
-                    ? String.format("Veuillez entrer un nombre entre %s et %s.",
-                            Integer.toHexString(minRange).toUpperCase(),
-                            Integer.toHexString(maxRange).toUpperCase())
-                    : String.format("Veuillez entrer un nombre entre %d et %d.", minRange, maxRange);
+            return GuessResult.OUT_OF_RANGE;
         }
 
+        GuessResult result;
         if (guess == targetNumber) {
-            player.incrementScore(getCurrentScore());
-            return "Correct ! Félicitations !";
+            if (player != null) {
+                player.incrementScore(getCurrentScore());
+            }
+            result = GuessResult.CORRECT;
         } else if (guess < targetNumber) {
             applyPenalty();
-            lesserGuesses.add(input.toUpperCase());
-            return "Trop petit !";
+            lesserGuesses.add(guess);
+            result = GuessResult.LOW;
         } else {
             applyPenalty();
-            greaterGuesses.add(input.toUpperCase());
-            return "Trop grand !";
+            greaterGuesses.add(guess);
+            result = GuessResult.HIGH;
+        }
+
+        for (GameListener listener : listeners()) {
+            listener.onGuess(this, guess, result);
+        }
+        if (result == GuessResult.CORRECT) {
+            end(GameOutcome.WON);
+        } else if (currentScore == 0) {
+            end(GameOutcome.GAME_OVER);
         }
+        return result;
+    }
+
+    /**
+     * Formate un nombre selon le mode du jeu (hexadécimal en majuscules ou
+     * décimal).
+     *
+     * @param value Le nombre à formater.
+     * @return La représentation textuelle du nombre.
+     */
+    public String formatNumber(int value) {
+        return isHexMode ? Integer.toHexString(value).toUpperCase() : Integer.toString(value);
+    }
+
+    /**
+     * Retourne la borne inférieure de la plage de valeurs.
+     *
+     * @return La borne inférieure.
+     */
+    public int getMinRange() {
+        return minRange;
+    }
+
+    /**
+     * Retourne la borne supérieure de la plage de valeurs.
+     *
+     * @return La borne supérieure.
+     */
+    public int getMaxRange() {
+        return maxRange;
     }
 
     /**
      * Retourne les suppositions plus grandes que le nombre cible.
      *
-     * @return Un ensemble de suppositions plus grandes.
+     * @return Une vue triée et non modifiable des suppositions plus grandes.
      */
     public Set<String> getGreaterGuesses() {
-        return greaterGuesses;
+        return greaterGuesses.asTextSet(isHexMode);
     }
 
     /**
      * Retourne les suppositions plus petites que le nombre cible.
      *
-     * @return Un ensemble de suppositions plus petites.
+     * @return Une vue triée et non modifiable des suppositions plus petites.
      */
     public Set<String> getLesserGuesses() {
+        return lesserGuesses.asTextSet(isHexMode);
+    }
+
+    /**
+     * Retourne l'historique des suppositions plus grandes que le nombre cible.
+     *
+     * @return L'historique des suppositions plus grandes.
+     */
+    public GuessHistory getGreaterHistory() {
+        return greaterGuesses;
+    }
+
+    /**
+     * Retourne l'historique des suppositions plus petites que le nombre cible.
+     *
+     * @return L'historique des suppositions plus petites.
+     */
+    public GuessHistory getLesserHistory() {
         return lesserGuesses;
     }
 
     /**
-     * Sauvegarde l'état actuel du jeu dans un fichier.
+     * Sauvegarde l'état actuel du jeu dans le premier emplacement d'un fichier de
+     * sauvegarde v2 (voir {@link SaveFile}).
      *
      * @param player   Le joueur dont les données doivent être sauvegardées.
      * @param filePath Le chemin du fichier de sauvegarde.
@@ -185,29 +321,72 @@ public class GuessingGame implements Serializable {
      *                     sauvegarde.
      */
     public void saveGame(PlayerUser player, String filePath) throws IOException {
-        try (DataOutputStream dos = new DataOutputStream(new FileOutputStream(filePath))) {
-            dos.writeInt(targetNumber);
-            dos.writeInt(minRange);
-            dos.writeInt(maxRange);
-            dos.writeBoolean(isHexMode);
-
-            dos.writeInt(greaterGuesses.size());
-            for (String guess : greaterGuesses) {
-                dos.writeUTF(guess);
+        saveGame(player, filePath, 0);
+    }
+
+    /**
+     * Sauvegarde l'état actuel du jeu dans un emplacement d'un fichier de
+     * sauvegarde v2. La sauvegarde est écrite dans une copie temporaire du
+     * fichier, qui le remplace ensuite d'un seul coup : une erreur en cours de
+     * route laisse l'ancien fichier intact. Un fichier absent ou vide devient
+     * une nouvelle sauvegarde et un ancien fichier v1 au même chemin est
+     * remplacé par un fichier v2 ; tout autre fichier est refusé.
+     *
+     * @param player   Le joueur dont les données doivent être sauvegardées.
+     * @param filePath Le chemin du fichier de sauvegarde.
+     * @param slot     L'emplacement de sauvegarde.
+     * @throws IOException Si une erreur d'entrée/sortie se produit lors de la
+     *                     sauvegarde, ou si le fichier existe et n'est pas une
+     *                     sauvegarde.
+     */
+    public void saveGame(PlayerUser player, String filePath, int slot) throws IOException {
+        Path path = Paths.get(filePath).toAbsolutePath();
+        boolean saveFile = SaveFile.isSaveFile(path);
+        // Un fichier absent ou vide est une nouvelle sauvegarde, comme pour SaveFile.open
+        boolean newFile = Files.notExists(path) || Files.size(path) == 0;
+        if (!saveFile && !newFile && !isLegacySave(path)) {
+            throw new IOException("Not a save file: " + path);
+        }
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            if (saveFile) {
+                Files.copy(path, temporary, StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                Files.deleteIfExists(temporary);
+            }
+            try (SaveFile copy = SaveFile.open(temporary)) {
+                copy.write(slot, this, player);
+                copy.force();
             }
-            dos.writeInt(lesserGuesses.size());
-            for (String guess : lesserGuesses) {
-                dos.writeUTF(guess);
+            try {
+                Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
             }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
 
-            dos.writeUTF(difficulty);
-            dos.writeUTF(player.getNickName());
-            dos.writeInt(player.getScore());
+    /**
+     * Indique si un fichier se lit comme une sauvegarde v1.
+     *
+     * @param path Le chemin du fichier.
+     * @return true si le fichier est une sauvegarde v1 lisible.
+     */
+    private static boolean isLegacySave(Path path) {
+        try {
+            loadLegacyGame(new PlayerUser("", 0), path.toString());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            return false;
         }
     }
 
     /**
-     * Charge un jeu précédemment sauvegardé à partir d'un fichier.
+     * Charge un jeu précédemment sauvegardé à partir d'un fichier. Les fichiers au
+     * format v2 sont lus depuis leur premier emplacement ; les anciens fichiers v1
+     * sont encore acceptés.
      *
      * @param player   Le joueur dont les données seront chargées.
      * @param filePath Le chemin du fichier de sauvegarde.
@@ -218,35 +397,159 @@ public class GuessingGame implements Serializable {
      *                                chargement.
      */
     public static GuessingGame loadGame(PlayerUser player, String filePath) throws IOException, ClassNotFoundException {
-        try (DataInputStream dis = new DataInputStream(new FileInputStream(filePath))) {
+        Path path = Paths.get(filePath);
+        if (!SaveFile.isSaveFile(path)) {
+            return loadLegacyGame(player, filePath);
+        }
+        return loadGame(player, filePath, 0);
+    }
+
+    /**
+     * Charge un jeu depuis un emplacement d'un fichier de sauvegarde v2.
+     *
+     * @param player   Le joueur dont les données seront chargées.
+     * @param filePath Le chemin du fichier de sauvegarde.
+     * @param slot     L'emplacement à charger.
+     * @return Le jeu chargé.
+     * @throws IOException Si une erreur d'entrée/sortie se produit lors du
+     *                     chargement ou si l'emplacement est vide ou corrompu.
+     */
+    public static GuessingGame loadGame(PlayerUser player, String filePath, int slot) throws IOException {
+        try (SaveFile saveFile = SaveFile.open(Paths.get(filePath))) {
+            GuessingGame game = saveFile.read(slot, player);
+            if (game == null) {
+                throw new IOException("Empty save slot " + slot + " in " + filePath);
+            }
+            return game;
+        }
+    }
+
+    /**
+     * Charge un jeu sauvegardé au format v1 (flux {@link DataOutputStream} sans
+     * en-tête). Ce format ne contient ni le score actuel ni le temps restant : ils
+     * sont remis à leur valeur de départ pour la difficulté.
+     *
+     * @param player   Le joueur dont les données seront chargées.
+     * @param filePath Le chemin du fichier de sauvegarde.
+     * @return Le jeu chargé.
+     * @throws IOException Si une erreur d'entrée/sortie se produit lors du
+     *                     chargement.
+     */
+    static GuessingGame loadLegacyGame(PlayerUser player, String filePath) throws IOException {
+        try (DataInputStream dis = new DataInputStream(new BufferedInputStream(new FileInputStream(filePath)))) {
             GuessingGame game = new GuessingGame("Facile");
 
             game.targetNumber = dis.readInt();
             game.minRange = dis.readInt();
             game.maxRange = dis.readInt();
             game.isHexMode = dis.readBoolean();
+            game.resetGuessHistory();
 
-            int lesserGuessesSize = dis.readInt();
-            game.lesserGuesses = new HashSet<>();
-            for (int i = 0; i < lesserGuessesSize; i++) {
-                game.lesserGuesses.add(dis.readUTF());
-            }
-
+            // Même ordre que l'ancien saveGame : plus grandes, puis plus petites
             int greaterGuessesSize = dis.readInt();
-            game.greaterGuesses = new HashSet<>();
             for (int i = 0; i < greaterGuessesSize; i++) {
-                game.greaterGuesses.add(dis.readUTF());
+                game.restoreGuess(game.greaterGuesses, dis.readUTF());
+            }
+
+            int lesserGuessesSize = dis.readInt();
+            for (int i = 0; i < lesserGuessesSize; i++) {
+                game.restoreGuess(game.lesserGuesses, dis.readUTF());
             }
 
             game.difficulty = dis.readUTF();
+            game.currentScore = getStartingScore(game.difficulty);
             player.setNickName(dis.readUTF());
             player.setScore(dis.readInt());
-            System.out.println("Loaded player: " + player);
-            System.out.println("difficulty : " + game.difficulty);
             return game;
         }
     }
 
+    /**
+     * Écrit l'état du jeu et du joueur dans un enregistrement de sauvegarde v2 de
+     * taille fixe.
+     *
+     * @param buffer Le tampon de destination, positionné au début des données.
+     * @param player Le joueur à sauvegarder.
+     */
+    void writeRecord(ByteBuffer buffer, PlayerUser player) {
+        buffer.put((byte) 1);
+        buffer.put((byte) (isHexMode ? 1 : 0));
+        buffer.putShort((short) (outcome == null ? 0 : outcome.ordinal() + 1));
+        buffer.putInt(targetNumber);
+        buffer.putInt(minRange);
+        buffer.putInt(maxRange);
+        buffer.putInt(currentScore);
+        buffer.putInt(timeRemaining);
+        buffer.putInt(player.getScore());
+        buffer.putLong(seed);
+        SaveFile.putString(buffer, difficulty, 24);
+        SaveFile.putString(buffer, player.getNickName(), 64);
+        writeHistory(buffer, lesserGuesses);
+        writeHistory(buffer, greaterGuesses);
+    }
+
+    /**
+     * Lit un jeu et son joueur depuis un enregistrement de sauvegarde v2.
+     *
+     * @param buffer Le tampon source, positionné au début des données.
+     * @param player Le joueur dont les données seront chargées.
+     * @return Le jeu lu.
+     */
+    static GuessingGame readRecord(ByteBuffer buffer, PlayerUser player) {
+        GuessingGame game = new GuessingGame();
+        buffer.get();
+        game.isHexMode = buffer.get() != 0;
+        int savedOutcome = buffer.getShort();
+        game.outcome = savedOutcome == 0 ? null : GameOutcome.values()[savedOutcome - 1];
+        game.targetNumber = buffer.getInt();
+        game.minRange = buffer.getInt();
+        game.maxRange = buffer.getInt();
+        game.currentScore = buffer.getInt();
+        game.timeRemaining = buffer.getInt();
+        int playerScore = buffer.getInt();
+        game.seed = buffer.getLong();
+        game.difficulty = SaveFile.getString(buffer, 24);
+        player.setNickName(SaveFile.getString(buffer, 64));
+        player.setScore(playerScore);
+        game.resetGuessHistory();
+        readHistory(buffer, game.lesserGuesses);
+        readHistory(buffer, game.greaterGuesses);
+        return game;
+    }
+
+    private static void writeHistory(ByteBuffer buffer, GuessHistory history) {
+        for (int i = 0; i < SAVED_HISTORY_WORDS; i++) {
+            buffer.putLong(i < history.wordCount() ? history.getWord(i) : 0L);
+        }
+    }
+
+    private static void readHistory(ByteBuffer buffer, GuessHistory history) {
+        for (int i = 0; i < SAVED_HISTORY_WORDS; i++) {
+            long word = buffer.getLong();
+            if (i < history.wordCount()) {
+                history.setWord(i, word);
+            }
+        }
+    }
+
+    /**
+     * Ajoute une supposition sauvegardée sous forme textuelle à un historique.
+     * Les entrées illisibles ou hors plage sont ignorées.
+     *
+     * @param history L'historique à compléter.
+     * @param text    La supposition sauvegardée.
+     */
+    private void restoreGuess(GuessHistory history, String text) {
+        try {
+            int guess = Integer.parseInt(text, isHexMode ? 16 : 10);
+            if (guess >= minRange && guess <= maxRange) {
+                history.add(guess);
+            }
+        } catch (NumberFormatException e) {
+            // Entrée corrompue : ignorée
+        }
+    }
+
     /**
      * Retourne la difficulté actuelle du jeu.
      *
@@ -306,6 +609,111 @@ public class GuessingGame implements Serializable {
      */
     public void decrementTimeRemaining() {
         timeRemaining--;
+        for (GameListener listener : listeners()) {
+            listener.onTick(this);
+        }
+        if (timeRemaining <= 0) {
+            end(GameOutcome.TIME_UP);
+        }
+    }
+
+    /**
+     * Modifie le temps restant, lors de la reprise d'une partie.
+     *
+     * @param timeRemaining Le temps restant en secondes.
+     */
+    void setTimeRemaining(int timeRemaining) {
+        this.timeRemaining = timeRemaining;
+    }
+
+    /**
+     * Modifie le score actuel, lors de la reprise d'une partie.
+     *
+     * @param currentScore Le score actuel.
+     */
+    void setCurrentScore(int currentScore) {
+        this.currentScore = currentScore;
+    }
+
+    /**
+     * Retourne l'issue de la partie.
+     *
+     * @return L'issue de la partie, ou null si elle est en cours.
+     */
+    public GameOutcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * Indique si la partie est terminée.
+     *
+     * @return true si la partie est terminée, sinon false.
+     */
+    public boolean isOver() {
+        return outcome != null;
+    }
+
+    /**
+     * Ajoute un observateur des événements du jeu.
+     *
+     * @param listener L'observateur à ajouter.
+     */
+    public void addListener(GameListener listener) {
+        GameListener[] current = listeners();
+        for (GameListener existing : current) {
+            if (existing == listener) {
+                return;
+            }
+        }
+        GameListener[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = listener;
+        listeners = updated;
+    }
+
+    /**
+     * Retire un observateur des événements du jeu.
+     *
+     * @param listener L'observateur à retirer.
+     */
+    public void removeListener(GameListener listener) {
+        GameListener[] current = listeners();
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                GameListener[] updated = new GameListener[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                listeners = updated;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Termine la partie avec l'issue spécifiée et prévient les observateurs. Les
+     * appels suivants sont ignorés.
+     *
+     * @param gameOutcome L'issue de la partie.
+     */
+    private void end(GameOutcome gameOutcome) {
+        if (outcome != null) {
+            return;
+        }
+        outcome = gameOutcome;
+        for (GameListener listener : listeners()) {
+            listener.onEnd(this, gameOutcome);
+        }
+    }
+
+    /**
+     * Retourne les observateurs du jeu, y compris après une désérialisation.
+     *
+     * @return Les observateurs du jeu.
+     */
+    private GameListener[] listeners() {
+        if (listeners == null) {
+            listeners = new GameListener[0];
+        }
+        return listeners;
     }
 
     /**
@@ -0,0 +1,89 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of non-negative values, in the style of HdrHistogram:
+ * values below 64 are counted exactly, larger ones in 32 linear sub-buckets per
+ * power of two, so any recorded value is reported within about 3% over the
+ * whole {@code long} range. Recording is a few atomic increments, allocation
+ * free and safe from any number of threads; reads scan the fixed set of
+ * buckets and may miss values recorded concurrently.
+ */
+public class Histogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Exact buckets below 2 * SUB_BUCKETS, then one group of SUB_BUCKETS per extra bit
+    private static final int BUCKETS = (Long.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKETS + SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+
+    /**
+     * Records a value; negative values are recorded as 0.
+     */
+    public void record(long value) {
+        long clamped = Math.max(0, value);
+        buckets.incrementAndGet(bucketOf(clamped));
+        count.increment();
+        sum.add(clamped);
+        max.accumulate(clamped);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the value below which the given percentage of recorded values
+     * fall, as the highest value of its bucket (never above the maximum).
+     */
+    public long getPercentile(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100, percentile) / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValueIn(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    private static int bucketOf(long value) {
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    private static long highestValueIn(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long subBucket = bucket - shift * SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,58 @@
+import javax.swing.JLabel;
+import javax.swing.Timer;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+
+/**
+ * A label showing an image that grows smoothly while the mouse is over it and
+ * shrinks back when it leaves, by stepping through a {@link ScaledImageChain}.
+ * Nothing is scaled during the animation; the timer only runs while zooming.
+ */
+public class HoverZoomLabel extends JLabel {
+    // One step of the chain per tick
+    private static final int TICK_MS = 16;
+
+    private final ScaledImageChain chain;
+    private final Timer timer;
+    private int step;
+    private int targetStep;
+
+    public HoverZoomLabel(ScaledImageChain chain) {
+        super(chain.getIcon(0));
+        this.chain = chain;
+        timer = new Timer(TICK_MS, e -> advance());
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseEntered(MouseEvent e) {
+                zoomTo(chain.getStepCount() - 1);
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                zoomTo(0);
+            }
+        });
+    }
+
+    private void zoomTo(int step) {
+        targetStep = step;
+        if (this.step != targetStep) {
+            timer.start();
+        }
+    }
+
+    private void advance() {
+        step += Integer.signum(targetStep - step);
+        setIcon(chain.getIcon(step));
+        if (step == targetStep) {
+            timer.stop();
+        }
+    }
+
+    /**
+     * Stops the zoom animation, e.g. when the label is removed.
+     */
+    public void stopAnimation() {
+        timer.stop();
+    }
+}
@@ -0,0 +1,528 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Leaderboard class is a persistent store of player scores.
+ * Players are kept on disk as fixed-size records, so a score update is a
+ * single 4-byte positioned write. Two in-memory indexes are rebuilt when the
+ * file is opened: an open-addressing hash index on nicknames and an
+ * order-statistic treap on scores, which answer lookups in O(1) and top-K and
+ * rank queries in O(log n). Both indexes and the encoded nicknames are held in
+ * primitive arrays, so queries never read the file and millions of players fit
+ * in a few tens of megabytes.
+ * Updates change the indexes right away and mark the player dirty; a
+ * background thread writes the dirty records, so the game thread never waits
+ * for the disk and repeated updates of a player are written once. A failed
+ * write is reported on stderr and retried with the next update.
+ */
+public class Leaderboard implements Closeable {
+    private static final int MAGIC = 0x474E4C42; // "GNLB"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int NAME_SIZE = 40;
+    private static final int RECORD_SIZE = 48;
+    private static final int SCORE_OFFSET = NAME_SIZE;
+    private static final int NIL = -1;
+
+    private final FileChannel channel;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "leaderboard");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private int count;
+    // Slots changed since the last flush, and slots already present in the file
+    private final BitSet dirty = new BitSet();
+    private int persistedCount;
+    private boolean flushScheduled;
+
+    // Per-player data, indexed by record slot
+    private long[] hashes = new long[1024];
+    private int[] scores = new int[1024];
+    // Encoded nicknames, NAME_SIZE bytes per slot: length, then UTF-8 bytes
+    private byte[] names = new byte[1024 * NAME_SIZE];
+
+    // Score index: treap nodes are record slots
+    private int[] left = new int[1024];
+    private int[] right = new int[1024];
+    private int[] sizes = new int[1024];
+    private int root = NIL;
+    private int splitLeft;
+    private int splitRight;
+
+    // Nickname index: open addressing, stores slot + 1 (0 means empty)
+    private int[] table = new int[2048];
+
+    private Leaderboard(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Opens the leaderboard stored at the specified path, creating it if needed,
+     * and rebuilds its indexes.
+     *
+     * @param path The path of the leaderboard file.
+     * @return The opened leaderboard.
+     * @throws IOException If the file cannot be read or is not a leaderboard.
+     */
+    public static Leaderboard open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        Leaderboard leaderboard = new Leaderboard(channel);
+        try {
+            leaderboard.load();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return leaderboard;
+    }
+
+    /**
+     * Records the current score of a player, adding the player if needed. The
+     * indexes are updated at once; the file is written in the background.
+     *
+     * @param nickName The nickname of the player.
+     * @param score    The new score of the player.
+     */
+    public synchronized void record(String nickName, int score) {
+        byte[] key = encode(nickName);
+        int slot = find(key);
+        if (slot == NIL) {
+            append(key, score);
+            return;
+        }
+        if (scores[slot] == score) {
+            return;
+        }
+        removeFromIndex(slot);
+        scores[slot] = score;
+        insertIntoIndex(slot);
+        markDirty(slot);
+    }
+
+    /**
+     * Returns the rank of a player, 1 being the best score.
+     *
+     * @param nickName The nickname of the player.
+     * @return The rank of the player, or -1 if the player is unknown.
+     */
+    public synchronized int rankOf(String nickName) {
+        int slot = find(encode(nickName));
+        if (slot == NIL) {
+            return -1;
+        }
+        int rank = size(left[slot]);
+        int node = root;
+        while (node != slot) {
+            if (before(slot, node)) {
+                node = left[node];
+            } else {
+                rank += size(left[node]) + 1;
+                node = right[node];
+            }
+        }
+        return rank + 1;
+    }
+
+    /**
+     * Returns the recorded score of a player.
+     *
+     * @param nickName The nickname of the player.
+     * @return The score of the player, or -1 if the player is unknown.
+     */
+    public synchronized int scoreOf(String nickName) {
+        int slot = find(encode(nickName));
+        return slot == NIL ? -1 : scores[slot];
+    }
+
+    /**
+     * Returns the players with the best scores, best first.
+     *
+     * @param k The maximum number of players to return.
+     * @return Up to k players, ordered by decreasing score.
+     */
+    public synchronized List<PlayerUser> top(int k) {
+        int n = Math.min(k, count);
+        List<PlayerUser> players = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int slot = select(i);
+            PlayerUser player = new PlayerUser(nickNameAt(slot), 0);
+            player.setScore(scores[slot]);
+            players.add(player);
+        }
+        return players;
+    }
+
+    /**
+     * Returns the number of players in the leaderboard.
+     *
+     * @return The number of players.
+     */
+    public synchronized int size() {
+        return count;
+    }
+
+    /**
+     * Finishes the queued writes (up to two seconds), then closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            // Records left by a failed write get a last try
+            if (!dirty.isEmpty() && !flushScheduled && !writer.isShutdown()) {
+                writer.execute(this::flush);
+                flushScheduled = true;
+            }
+        }
+        writer.shutdown();
+        try {
+            writer.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    private void load() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        if (channel.size() == 0) {
+            header.putInt(MAGIC).putInt(VERSION).putInt(RECORD_SIZE);
+            header.clear();
+            writeFully(header, 0);
+            return;
+        }
+        readFully(header, 0);
+        if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION || header.getInt(8) != RECORD_SIZE) {
+            throw new IOException("Not a leaderboard file");
+        }
+
+        long records = (channel.size() - HEADER_SIZE) / RECORD_SIZE;
+        ByteBuffer chunk = ByteBuffer.allocate(RECORD_SIZE * 4096);
+        long position = HEADER_SIZE;
+        for (long done = 0; done < records;) {
+            chunk.clear();
+            chunk.limit((int) Math.min(chunk.capacity(), (records - done) * RECORD_SIZE));
+            readFully(chunk, position);
+            chunk.flip();
+            while (chunk.remaining() >= RECORD_SIZE) {
+                int start = chunk.position();
+                int slot = count++;
+                ensureCapacity(count);
+                int length = Math.min(chunk.get(start) & 0xFF, NAME_SIZE - 1);
+                names[slot * NAME_SIZE] = (byte) length;
+                chunk.get(start + 1, names, slot * NAME_SIZE + 1, length);
+                hashes[slot] = hash(names, slot * NAME_SIZE);
+                scores[slot] = chunk.getInt(start + SCORE_OFFSET);
+                insertIntoIndex(slot);
+                insertIntoTable(slot);
+                chunk.position(start + RECORD_SIZE);
+                done++;
+            }
+            position += chunk.limit();
+        }
+        persistedCount = count;
+    }
+
+    private void append(byte[] key, int score) {
+        int slot = count;
+        count++;
+        ensureCapacity(count);
+        System.arraycopy(key, 0, names, slot * NAME_SIZE, key.length);
+        hashes[slot] = hash(key, 0);
+        scores[slot] = score;
+        insertIntoIndex(slot);
+        insertIntoTable(slot);
+        markDirty(slot);
+    }
+
+    // Nickname hash index
+
+    private int find(byte[] key) {
+        long h = hash(key, 0);
+        int mask = table.length - 1;
+        for (int i = (int) h & mask; table[i] != 0; i = (i + 1) & mask) {
+            int slot = table[i] - 1;
+            if (hashes[slot] == h && Arrays.equals(names, slot * NAME_SIZE, slot * NAME_SIZE + key.length, key, 0,
+                    key.length)) {
+                return slot;
+            }
+        }
+        return NIL;
+    }
+
+    private void insertIntoTable(int slot) {
+        if (count * 2 > table.length) {
+            int[] old = table;
+            table = new int[old.length * 2];
+            for (int entry : old) {
+                if (entry != 0) {
+                    placeInTable(entry - 1);
+                }
+            }
+        }
+        placeInTable(slot);
+    }
+
+    private void placeInTable(int slot) {
+        int mask = table.length - 1;
+        int i = (int) hashes[slot] & mask;
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = slot + 1;
+    }
+
+    // Score index (treap keyed by descending score, then slot)
+
+    private boolean before(int a, int b) {
+        return scores[a] > scores[b] || (scores[a] == scores[b] && a < b);
+    }
+
+    private int size(int node) {
+        return node == NIL ? 0 : sizes[node];
+    }
+
+    private void update(int node) {
+        sizes[node] = size(left[node]) + size(right[node]) + 1;
+    }
+
+    private static int priority(int slot) {
+        int h = slot;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+
+    private void insertIntoIndex(int slot) {
+        left[slot] = NIL;
+        right[slot] = NIL;
+        sizes[slot] = 1;
+        split(root, slot);
+        int lower = splitLeft;
+        int upper = splitRight;
+        root = merge(merge(lower, slot), upper);
+    }
+
+    private void removeFromIndex(int slot) {
+        split(root, slot);
+        int lower = splitLeft;
+        int upper = removeFirst(splitRight);
+        root = merge(lower, upper);
+    }
+
+    /** Splits into nodes ordered before the key (splitLeft) and the others (splitRight). */
+    private void split(int node, int key) {
+        if (node == NIL) {
+            splitLeft = NIL;
+            splitRight = NIL;
+        } else if (before(node, key)) {
+            split(right[node], key);
+            right[node] = splitLeft;
+            update(node);
+            splitLeft = node;
+        } else {
+            split(left[node], key);
+            left[node] = splitRight;
+            update(node);
+            splitRight = node;
+        }
+    }
+
+    private int merge(int a, int b) {
+        if (a == NIL) {
+            return b;
+        }
+        if (b == NIL) {
+            return a;
+        }
+        if (priority(a) > priority(b)) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        update(b);
+        return b;
+    }
+
+    private int removeFirst(int node) {
+        if (left[node] == NIL) {
+            return right[node];
+        }
+        left[node] = removeFirst(left[node]);
+        update(node);
+        return node;
+    }
+
+    private int select(int index) {
+        int node = root;
+        while (true) {
+            int leftSize = size(left[node]);
+            if (index < leftSize) {
+                node = left[node];
+            } else if (index == leftSize) {
+                return node;
+            } else {
+                index -= leftSize + 1;
+                node = right[node];
+            }
+        }
+    }
+
+    // Storage helpers
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= scores.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, scores.length * 2);
+        hashes = Arrays.copyOf(hashes, newLength);
+        names = Arrays.copyOf(names, newLength * NAME_SIZE);
+        scores = Arrays.copyOf(scores, newLength);
+        left = Arrays.copyOf(left, newLength);
+        right = Arrays.copyOf(right, newLength);
+        sizes = Arrays.copyOf(sizes, newLength);
+    }
+
+    private String nickNameAt(int slot) {
+        int start = slot * NAME_SIZE;
+        return new String(names, start + 1, names[start] & 0xFF, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Encodes a nickname as stored in a record: its length, then its UTF-8
+     * bytes, truncated so that it fits.
+     */
+    private static byte[] encode(String nickName) {
+        String name = nickName;
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        while (bytes.length >= NAME_SIZE) {
+            name = name.substring(0, name.length() - 1);
+            bytes = name.getBytes(StandardCharsets.UTF_8);
+        }
+        byte[] key = new byte[bytes.length + 1];
+        key[0] = (byte) bytes.length;
+        System.arraycopy(bytes, 0, key, 1, bytes.length);
+        return key;
+    }
+
+    private static long hash(byte[] encoded, int start) {
+        long h = 0xcbf29ce484222325L;
+        int end = start + 1 + (encoded[start] & 0xFF);
+        for (int i = start; i < end; i++) {
+            h ^= encoded[i] & 0xFF;
+            h *= 0x100000001b3L;
+        }
+        return h ^ (h >>> 29);
+    }
+
+    // File writes
+
+    private void markDirty(int slot) {
+        dirty.set(slot);
+        if (!flushScheduled) {
+            try {
+                writer.execute(this::flush);
+                flushScheduled = true;
+            } catch (RejectedExecutionException e) {
+                // Closing: the score stays in memory only
+            }
+        }
+    }
+
+    /**
+     * Writes the dirty records, on the writer thread. New players are written
+     * whole, consecutive ones in a single write, and known ones as a 4-byte
+     * score. The records are copied under the lock and written without it.
+     */
+    private void flush() {
+        int[] slots;
+        byte[] records;
+        int firstNew;
+        synchronized (this) {
+            flushScheduled = false;
+            slots = new int[dirty.cardinality()];
+            records = new byte[slots.length * RECORD_SIZE];
+            ByteBuffer copy = ByteBuffer.wrap(records);
+            int i = 0;
+            for (int slot = dirty.nextSetBit(0); slot >= 0; slot = dirty.nextSetBit(slot + 1)) {
+                slots[i] = slot;
+                copy.put(i * RECORD_SIZE, names, slot * NAME_SIZE, NAME_SIZE);
+                copy.putInt(i * RECORD_SIZE + SCORE_OFFSET, scores[slot]);
+                i++;
+            }
+            dirty.clear();
+            firstNew = persistedCount;
+            persistedCount = count;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(records);
+        for (int i = 0; i < slots.length;) {
+            long position = HEADER_SIZE + (long) slots[i] * RECORD_SIZE;
+            int start = i * RECORD_SIZE;
+            int next = i + 1;
+            if (slots[i] >= firstNew) {
+                while (next < slots.length && slots[next] == slots[next - 1] + 1) {
+                    next++;
+                }
+                buffer.limit(next * RECORD_SIZE).position(start);
+            } else {
+                buffer.limit(start + SCORE_OFFSET + 4).position(start + SCORE_OFFSET);
+                position += SCORE_OFFSET;
+            }
+            try {
+                writeFully(buffer, position);
+            } catch (IOException e) {
+                System.err.println("Could not write the leaderboard: " + e);
+                retry(slots, i, firstNew);
+                return;
+            }
+            buffer.clear();
+            i = next;
+        }
+    }
+
+    /**
+     * Marks the records that were not written as dirty again; they are written
+     * with the next update.
+     */
+    private synchronized void retry(int[] slots, int from, int firstNew) {
+        for (int i = from; i < slots.length; i++) {
+            dirty.set(slots[i]);
+            if (slots[i] >= firstNew) {
+                persistedCount = Math.min(persistedCount, slots[i]);
+            }
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        int start = buffer.position();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position() - start) < 0) {
+                throw new IOException("Unexpected end of leaderboard file");
+            }
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        int start = buffer.position();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position() - start);
+        }
+    }
+}
@@ -3,6 +3,15 @@ import javax.swing.SwingUtilities;
 
 public class Main {
     public static void main(String[] args) {
+        StartupMetrics.mainStarted();
+        // Report event dispatch stalls with the stack of what blocks the EDT
+        EdtWatchdog.install();
+        // Publish game and UI metrics over JMX (and to -Dmetrics.dumpFile)
+        GameMetrics.install();
+        // Trace every game event to -Devents.dir, off the game threads
+        EventLog.install();
+        // Start reading fonts, images and sounds in parallel with the EDT start-up
+        AssetManager.preload();
         // Launch the Welcome Screen on the Event Dispatch Thread
         SwingUtilities.invokeLater(() -> new WelcomeScreen());
     }
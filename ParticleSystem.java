@@ -0,0 +1,267 @@
+import java.awt.Color;
+import java.util.random.RandomGenerator;
+
+/**
+ * Floating cash symbols of the welcome screen background, stored as a
+ * struct of arrays: positions, velocities, sizes and palette indices live in
+ * primitive arrays and are updated in tight loops, so thousands of particles
+ * cost no per-particle objects and no garbage per frame.
+ * A {@link SpatialGrid} indexes the particles so that mouse repulsion and
+ * symbol-to-symbol separation only look at neighbouring cells.
+ */
+public class ParticleSystem {
+    // Symbols and the specified tints of blue, indexed by the symbol and color arrays
+    static final String[] SYMBOLS = { "$", "€" };
+    static final Color[] COLORS = {
+            Color.decode("#23395d"),
+            Color.decode("#394d6d"),
+            Color.decode("#4f617d"),
+            Color.decode("#65748e"),
+            Color.decode("#7b889e")
+    };
+
+    // Range of symbol sizes
+    static final int MIN_SIZE = 30;
+    static final int MAX_SIZE = 44;
+
+    // Constants for mouse repulsion
+    static final float REPULSION_RADIUS = 100f;
+    private static final float REPULSION_STRENGTH = 2f;
+    private static final float MAX_SPEED = 5f;
+
+    // Grid cells are wide enough for two touching symbols of the largest size
+    private static final float CELL_SIZE = 50f;
+    // Symbols closer than this fraction of their mean size are pushed apart
+    private static final float SEPARATION_FACTOR = 0.8f;
+
+    final float[] x;
+    final float[] y;
+    // Positions before the last step, for interpolated rendering
+    final float[] previousX;
+    final float[] previousY;
+    final float[] speedX;
+    final float[] speedY;
+    final byte[] size;
+    final byte[] symbol;
+    final byte[] color;
+    private final int capacity;
+    private final RandomGenerator random;
+    private final SpatialGrid grid;
+    private boolean separation = true;
+    private int count;
+
+    public ParticleSystem(int capacity, RandomGenerator random) {
+        this.capacity = capacity;
+        this.random = random;
+        x = new float[capacity];
+        y = new float[capacity];
+        previousX = new float[capacity];
+        previousY = new float[capacity];
+        speedX = new float[capacity];
+        speedY = new float[capacity];
+        size = new byte[capacity];
+        symbol = new byte[capacity];
+        color = new byte[capacity];
+        grid = new SpatialGrid(CELL_SIZE, capacity);
+    }
+
+    /**
+     * Scatters every particle over a panel of the given size. Does nothing (and
+     * leaves no particles) until the panel has positive dimensions.
+     */
+    public void randomize(int panelWidth, int panelHeight) {
+        if (panelWidth <= 0 || panelHeight <= 0) {
+            count = 0;
+            return;
+        }
+        for (int i = 0; i < capacity; i++) {
+            x[i] = random.nextInt(panelWidth);
+            y[i] = random.nextInt(panelHeight);
+            size[i] = (byte) (MIN_SIZE + random.nextInt(MAX_SIZE - MIN_SIZE + 1));
+
+            // Slower speed between -2 and 2, excluding 0 to ensure movement
+            float sx = random.nextInt(5) - 2;
+            float sy = random.nextInt(5) - 2;
+            speedX[i] = sx == 0 ? 1 : sx;
+            speedY[i] = sy == 0 ? 1 : sy;
+
+            symbol[i] = (byte) random.nextInt(SYMBOLS.length);
+            color[i] = (byte) random.nextInt(COLORS.length);
+        }
+        count = capacity;
+        System.arraycopy(x, 0, previousX, 0, count);
+        System.arraycopy(y, 0, previousY, 0, count);
+        grid.rebuild(panelWidth, panelHeight, x, y, count);
+    }
+
+    /**
+     * Advances the simulation by one tick: mouse repulsion, separation of
+     * overlapping symbols, then movement.
+     */
+    public void step(int panelWidth, int panelHeight, int mouseX, int mouseY) {
+        System.arraycopy(x, 0, previousX, 0, count);
+        System.arraycopy(y, 0, previousY, 0, count);
+        if (mouseX >= 0 && mouseY >= 0) {
+            applyMouseRepulsion(mouseX, mouseY);
+        }
+        if (separation) {
+            separate();
+        }
+        updatePositions(panelWidth, panelHeight);
+    }
+
+    public void updatePositions(int panelWidth, int panelHeight) {
+        final float[] x = this.x, y = this.y, vx = speedX, vy = speedY;
+        final byte[] size = this.size;
+        final int n = count;
+
+        for (int i = 0; i < n; i++) {
+            x[i] += vx[i];
+            y[i] += vy[i];
+        }
+
+        // Bounce off the edges
+        for (int i = 0; i < n; i++) {
+            float s = size[i];
+            float xi = x[i];
+            float yi = y[i];
+            vx[i] = (xi < 0 || xi + s > panelWidth) ? -vx[i] : vx[i];
+            vy[i] = (yi < 0 || yi + s > panelHeight) ? -vy[i] : vy[i];
+        }
+
+        grid.update(x, y, n);
+    }
+
+    public void applyMouseRepulsion(int mouseX, int mouseY) {
+        final float[] x = this.x, y = this.y;
+        final int[] next = grid.next;
+        final float radiusSquared = REPULSION_RADIUS * REPULSION_RADIUS;
+
+        // Only visit the cells that intersect the repulsion circle
+        int minColumn = grid.columnOf(mouseX - REPULSION_RADIUS);
+        int maxColumn = grid.columnOf(mouseX + REPULSION_RADIUS);
+        int minRow = grid.rowOf(mouseY - REPULSION_RADIUS);
+        int maxRow = grid.rowOf(mouseY + REPULSION_RADIUS);
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                for (int i = grid.first(column, row); i != SpatialGrid.NONE; i = next[i]) {
+                    float dx = x[i] - mouseX;
+                    float dy = y[i] - mouseY;
+                    float distanceSquared = dx * dx + dy * dy;
+                    // Only symbols inside the radius need the square root
+                    if (distanceSquared < radiusSquared && distanceSquared > 0) {
+                        repel(i, dx, dy, (float) Math.sqrt(distanceSquared));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Pushes overlapping symbols apart and exchanges their velocity along the
+     * contact normal, like an elastic collision between equal masses. Pairs are
+     * found cell by cell with a half stencil (the cell itself and four of its
+     * neighbours), so each neighbouring pair is visited exactly once.
+     */
+    public void separate() {
+        final int[] next = grid.next;
+        final int columns = grid.getColumns();
+        final int rows = grid.getRows();
+
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                for (int i = grid.first(column, row); i != SpatialGrid.NONE; i = next[i]) {
+                    // Pairs inside the cell
+                    for (int j = next[i]; j != SpatialGrid.NONE; j = next[j]) {
+                        collide(i, j);
+                    }
+                    // Pairs with the right, bottom-left, bottom and bottom-right cells
+                    if (column + 1 < columns) {
+                        collideWithCell(i, column + 1, row);
+                    }
+                    if (row + 1 < rows) {
+                        if (column > 0) {
+                            collideWithCell(i, column - 1, row + 1);
+                        }
+                        collideWithCell(i, column, row + 1);
+                        if (column + 1 < columns) {
+                            collideWithCell(i, column + 1, row + 1);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void collideWithCell(int i, int column, int row) {
+        final int[] next = grid.next;
+        for (int j = grid.first(column, row); j != SpatialGrid.NONE; j = next[j]) {
+            collide(i, j);
+        }
+    }
+
+    private void collide(int i, int j) {
+        final float[] x = this.x, y = this.y, vx = speedX, vy = speedY;
+        float dx = x[j] - x[i];
+        float dy = y[j] - y[i];
+        float distanceSquared = dx * dx + dy * dy;
+        float minDistance = (size[i] + size[j]) * 0.5f * SEPARATION_FACTOR;
+        if (distanceSquared >= minDistance * minDistance || distanceSquared == 0) {
+            return;
+        }
+        float distance = (float) Math.sqrt(distanceSquared);
+        float nx = dx / distance;
+        float ny = dy / distance;
+
+        // Move each symbol half of the overlap away from the other
+        float push = (minDistance - distance) * 0.5f;
+        x[i] -= nx * push;
+        y[i] -= ny * push;
+        x[j] += nx * push;
+        y[j] += ny * push;
+
+        // Swap the velocity components along the normal if they approach
+        float approach = (vx[i] - vx[j]) * nx + (vy[i] - vy[j]) * ny;
+        if (approach > 0) {
+            vx[i] -= approach * nx;
+            vy[i] -= approach * ny;
+            vx[j] += approach * nx;
+            vy[j] += approach * ny;
+        }
+    }
+
+    /**
+     * Pushes particle i away from a point at offset (dx, dy) and the given
+     * distance, then limits its speed.
+     */
+    void repel(int i, float dx, float dy, float distance) {
+        // Calculate the repulsion force
+        float force = (REPULSION_RADIUS - distance) / REPULSION_RADIUS * REPULSION_STRENGTH;
+
+        // Apply the force along the normalized direction
+        float vx = speedX[i] + dx / distance * force;
+        float vy = speedY[i] + dy / distance * force;
+
+        // Limit the speed to prevent symbols from moving too fast
+        float speedSquared = vx * vx + vy * vy;
+        if (speedSquared > MAX_SPEED * MAX_SPEED) {
+            float scale = MAX_SPEED / (float) Math.sqrt(speedSquared);
+            vx *= scale;
+            vy *= scale;
+        }
+        speedX[i] = vx;
+        speedY[i] = vy;
+    }
+
+    public void setSeparation(boolean separation) {
+        this.separation = separation;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,149 @@
+import javax.swing.AbstractAction;
+import javax.swing.JComponent;
+import javax.swing.JFrame;
+import javax.swing.KeyStroke;
+import javax.swing.Timer;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.event.ActionEvent;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.function.Supplier;
+
+/**
+ * Performance figures drawn over a window, as its glass pane, toggled with F12:
+ * animation frame rate and frame-time percentiles, EDT queue latency and
+ * stalls, and the heap allocation rate. Figures are refreshed every 250 ms,
+ * only while the overlay is visible.
+ */
+public class PerformanceOverlay extends JComponent {
+    private static final int REFRESH_MS = 250;
+    private static final int MARGIN = 10;
+
+    private final Supplier<FrameStats> frameStats;
+    private final EdtWatchdog watchdog;
+    private final Timer refreshTimer;
+    private final Font font = new Font(Font.MONOSPACED, Font.PLAIN, 13);
+    private final Color panelColor = new Color(0, 0, 0, 170);
+
+    private String[] lines = new String[0];
+    private long lastAllocatedBytes = -1;
+    private long lastSampleTime;
+    private double allocationRate;
+
+    /**
+     * Installs the overlay as the glass pane of a window and binds F12 to it.
+     *
+     * @param frame      The window.
+     * @param frameStats Frame times of the current animation; may return null.
+     * @param watchdog   The EDT watchdog, or null.
+     */
+    public static PerformanceOverlay install(JFrame frame, Supplier<FrameStats> frameStats, EdtWatchdog watchdog) {
+        PerformanceOverlay overlay = new PerformanceOverlay(frameStats, watchdog);
+        frame.setGlassPane(overlay);
+        String toggle = "togglePerformanceOverlay";
+        frame.getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW)
+                .put(KeyStroke.getKeyStroke("F12"), toggle);
+        frame.getRootPane().getActionMap().put(toggle, new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                overlay.setVisible(!overlay.isVisible());
+            }
+        });
+        return overlay;
+    }
+
+    private PerformanceOverlay(Supplier<FrameStats> frameStats, EdtWatchdog watchdog) {
+        this.frameStats = frameStats;
+        this.watchdog = watchdog;
+        refreshTimer = new Timer(REFRESH_MS, e -> refresh());
+        setOpaque(false);
+        setVisible(false);
+    }
+
+    @Override
+    public void setVisible(boolean visible) {
+        super.setVisible(visible);
+        if (visible) {
+            lastAllocatedBytes = -1;
+            refresh();
+            refreshTimer.start();
+        } else {
+            refreshTimer.stop();
+        }
+    }
+
+    private void refresh() {
+        sampleAllocationRate();
+        FrameStats frames = frameStats.get();
+        String frameLine = frames == null || frames.getCount() == 0
+                ? "Animation: -"
+                : String.format("Animation: %5.1f fps  p50 %5.1f  p95 %5.1f  p99 %5.1f ms", frames.fps(),
+                        frames.percentileMillis(50), frames.percentileMillis(95), frames.percentileMillis(99));
+        String latencyLine;
+        String stallLine;
+        if (watchdog == null) {
+            latencyLine = "EDT latency: -";
+            stallLine = "EDT stalls: -";
+        } else {
+            FrameStats latency = watchdog.getQueueLatency();
+            latencyLine = String.format("EDT latency: p50 %5.1f  p99 %5.1f ms", latency.percentileMillis(50),
+                    latency.percentileMillis(99));
+            stallLine = String.format("EDT stalls > %.0f ms: %d (longest %.0f ms)",
+                    watchdog.getStallThresholdMillis(), watchdog.getStallCount(), watchdog.getLongestStallMillis());
+        }
+        String allocationLine = allocationRate < 0
+                ? "Allocation: -"
+                : String.format("Allocation: %7.1f MB/s", allocationRate / (1024 * 1024));
+        lines = new String[] { frameLine, latencyLine, stallLine, allocationLine };
+        repaint();
+    }
+
+    /**
+     * Sums the bytes allocated by every live thread; threads that ended since
+     * the last sample make the difference negative, which is then ignored.
+     */
+    private void sampleAllocationRate() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            allocationRate = -1;
+            return;
+        }
+        long[] allocated = ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(threads.getAllThreadIds());
+        long total = 0;
+        for (long bytes : allocated) {
+            if (bytes > 0) {
+                total += bytes;
+            }
+        }
+        long now = System.nanoTime();
+        if (lastAllocatedBytes >= 0 && total >= lastAllocatedBytes && now > lastSampleTime) {
+            allocationRate = (total - lastAllocatedBytes) * 1e9 / (now - lastSampleTime);
+        }
+        lastAllocatedBytes = total;
+        lastSampleTime = now;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        g.setFont(font);
+        FontMetrics metrics = g.getFontMetrics();
+        int width = 0;
+        for (String line : lines) {
+            width = Math.max(width, metrics.stringWidth(line));
+        }
+        int lineHeight = metrics.getHeight();
+        int boxWidth = width + 2 * MARGIN;
+        int boxHeight = lines.length * lineHeight + 2 * MARGIN;
+        int x = getWidth() - boxWidth - MARGIN;
+        int y = MARGIN;
+        g.setColor(panelColor);
+        g.fillRect(x, y, boxWidth, boxHeight);
+        g.setColor(Color.WHITE);
+        for (int i = 0; i < lines.length; i++) {
+            g.drawString(lines[i], x + MARGIN, y + MARGIN + i * lineHeight + metrics.getAscent());
+        }
+    }
+}
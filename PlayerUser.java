@@ -8,6 +8,7 @@ import java.io.*;
 public class PlayerUser {
     private String nickName;
     private int score;
+    private Leaderboard leaderboard;
 
     /**
      * Constructs a new PlayerUser instance with the specified nickname and score.
@@ -107,6 +108,18 @@ public class PlayerUser {
      */
     public void incrementScore(int increment) {
         this.score += increment;
+        if (leaderboard != null) {
+            leaderboard.record(nickName, score);
+        }
+    }
+
+    /**
+     * Attaches a leaderboard that receives every score increment of the player.
+     *
+     * @param leaderboard The leaderboard to update, or null to detach.
+     */
+    public void setLeaderboard(Leaderboard leaderboard) {
+        this.leaderboard = leaderboard;
     }
 
     /**
@@ -129,7 +142,6 @@ public class PlayerUser {
      * @throws IOException If an I/O error occurs.
      */
     public static PlayerUser importFromFile(String filePath) throws IOException {
-        System.out.println("Importing player from file: " + filePath);
         try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
             String line = reader.readLine();
             if (line != null) {
@@ -0,0 +1,264 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Fichier de sauvegarde au format v2 : un en-tête versionné suivi d'un nombre
+ * fixe d'emplacements (slots) de taille fixe, chacun protégé par un CRC32C.
+ * Sauvegarder ou charger un emplacement se fait en une seule lecture ou
+ * écriture positionnée sur le {@link FileChannel}.
+ *
+ * <pre>
+ * En-tête (64 octets) : magic "GNGS" | version (short) | slots (short) | taille d'un enregistrement (int)
+ * Enregistrement (256 octets) : crc32c (int) | données ({@link GuessingGame#writeRecord})
+ * </pre>
+ */
+public class SaveFile implements Closeable {
+    /** Signature des fichiers de sauvegarde v2 ("GNGS"). */
+    public static final int MAGIC = 0x474E4753;
+    /** Version du format. */
+    public static final short VERSION = 2;
+    /** Nombre d'emplacements par défaut. */
+    public static final int DEFAULT_SLOTS = 8;
+
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 256;
+
+    private final FileChannel channel;
+    private final int slotCount;
+    private final ByteBuffer record = ByteBuffer.allocateDirect(RECORD_SIZE).order(ByteOrder.BIG_ENDIAN);
+    private final CRC32C crc = new CRC32C();
+
+    private SaveFile(FileChannel channel, int slotCount) {
+        this.channel = channel;
+        this.slotCount = slotCount;
+    }
+
+    /**
+     * Ouvre un fichier de sauvegarde v2, en le créant avec le nombre
+     * d'emplacements par défaut s'il n'existe pas.
+     *
+     * @param path Le chemin du fichier.
+     * @return Le fichier de sauvegarde ouvert.
+     * @throws IOException Si le fichier n'est pas une sauvegarde v2 ou ne peut pas
+     *                     être ouvert.
+     */
+    public static SaveFile open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            if (channel.size() == 0) {
+                header.putInt(MAGIC).putShort(VERSION).putShort((short) DEFAULT_SLOTS).putInt(RECORD_SIZE);
+                header.clear();
+                writeFully(channel, header, 0);
+                return new SaveFile(channel, DEFAULT_SLOTS);
+            }
+            readFully(channel, header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a v2 save file: " + path);
+            }
+            short version = header.getShort();
+            int slots = header.getShort();
+            int recordSize = header.getInt();
+            if (version != VERSION || recordSize != RECORD_SIZE || slots <= 0) {
+                throw new IOException("Unsupported save file version " + version + ": " + path);
+            }
+            return new SaveFile(channel, slots);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Indique si le fichier est une sauvegarde au format v2.
+     *
+     * @param path Le chemin du fichier.
+     * @return true si le fichier commence par la signature v2.
+     * @throws IOException Si le fichier ne peut pas être lu.
+     */
+    public static boolean isSaveFile(Path path) throws IOException {
+        if (!Files.isRegularFile(path) || Files.size(path) < HEADER_SIZE) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4);
+            readFully(channel, magic, 0);
+            return magic.getInt(0) == MAGIC;
+        }
+    }
+
+    /**
+     * Retourne le nombre d'emplacements du fichier.
+     *
+     * @return Le nombre d'emplacements.
+     */
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    /**
+     * Sauvegarde un jeu et son joueur dans un emplacement.
+     *
+     * @param slot   L'emplacement de sauvegarde.
+     * @param game   Le jeu à sauvegarder.
+     * @param player Le joueur à sauvegarder.
+     * @throws IOException Si une erreur d'entrée/sortie se produit.
+     */
+    public synchronized void write(int slot, GuessingGame game, PlayerUser player) throws IOException {
+        checkSlot(slot);
+        record.clear();
+        record.putInt(0);
+        game.writeRecord(record, player);
+        while (record.hasRemaining()) {
+            record.put((byte) 0);
+        }
+        record.putInt(0, checksum());
+        record.clear();
+        writeFully(channel, record, position(slot));
+    }
+
+    /**
+     * Charge le jeu d'un emplacement.
+     *
+     * @param slot   L'emplacement à charger.
+     * @param player Le joueur dont les données seront chargées.
+     * @return Le jeu chargé, ou null si l'emplacement est vide.
+     * @throws IOException Si une erreur d'entrée/sortie se produit ou si
+     *                     l'enregistrement est corrompu.
+     */
+    public synchronized GuessingGame read(int slot, PlayerUser player) throws IOException {
+        checkSlot(slot);
+        if (channel.size() < position(slot) + RECORD_SIZE) {
+            return null;
+        }
+        record.clear();
+        readFully(channel, record, position(slot));
+        record.flip();
+        int stored = record.getInt(0);
+        if (stored == 0 && isEmptyRecord()) {
+            return null;
+        }
+        if (stored != checksum()) {
+            throw new IOException("Corrupted save slot " + slot);
+        }
+        record.position(4);
+        return GuessingGame.readRecord(record, player);
+    }
+
+    /**
+     * Vide un emplacement.
+     *
+     * @param slot L'emplacement à vider.
+     * @throws IOException Si une erreur d'entrée/sortie se produit.
+     */
+    public synchronized void clear(int slot) throws IOException {
+        checkSlot(slot);
+        record.clear();
+        while (record.hasRemaining()) {
+            record.put((byte) 0);
+        }
+        record.clear();
+        writeFully(channel, record, position(slot));
+    }
+
+    /**
+     * Force l'écriture des données sur le disque.
+     *
+     * @throws IOException Si une erreur d'entrée/sortie se produit.
+     */
+    public void force() throws IOException {
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Encode une chaîne dans un champ de taille fixe : un octet de longueur suivi
+     * des octets UTF-8, tronqués si nécessaire et complétés par des zéros.
+     *
+     * @param buffer Le tampon de destination.
+     * @param value  La chaîne à encoder.
+     * @param width  La taille du champ en octets.
+     */
+    static void putString(ByteBuffer buffer, String value, int width) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, width - 1);
+        buffer.put((byte) length);
+        buffer.put(bytes, 0, length);
+        for (int i = length + 1; i < width; i++) {
+            buffer.put((byte) 0);
+        }
+    }
+
+    /**
+     * Décode une chaîne écrite par {@link #putString(ByteBuffer, String, int)}.
+     *
+     * @param buffer Le tampon source.
+     * @param width  La taille du champ en octets.
+     * @return La chaîne décodée.
+     */
+    static String getString(ByteBuffer buffer, int width) {
+        int start = buffer.position();
+        int length = Math.min(buffer.get() & 0xFF, width - 1);
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        buffer.position(start + width);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private long position(int slot) {
+        return HEADER_SIZE + (long) slot * RECORD_SIZE;
+    }
+
+    private void checkSlot(int slot) {
+        if (slot < 0 || slot >= slotCount) {
+            throw new IllegalArgumentException("Invalid save slot: " + slot);
+        }
+    }
+
+    private int checksum() {
+        crc.reset();
+        record.position(4);
+        record.limit(RECORD_SIZE);
+        crc.update(record);
+        record.clear();
+        return (int) crc.getValue();
+    }
+
+    private boolean isEmptyRecord() {
+        for (int i = 0; i < RECORD_SIZE; i += 8) {
+            if (record.getLong(i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of save file");
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+}
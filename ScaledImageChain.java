@@ -0,0 +1,76 @@
+import javax.swing.ImageIcon;
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An image pre-scaled once to a series of square sizes, from smallest to
+ * largest, so that zoom effects only switch between ready images. Each size is
+ * a bilinear pass from the smallest halving of the source that is still larger
+ * than it: close to area averaging in quality, but much faster than
+ * {@code getScaledInstance(SCALE_SMOOTH)}.
+ */
+public class ScaledImageChain {
+    private final int[] sizes;
+    private final ImageIcon[] icons;
+
+    /**
+     * @param source  The full-size image.
+     * @param minSize Size of the first (smallest) image.
+     * @param maxSize Size of the last (largest) image.
+     * @param steps   Number of images, at least 2.
+     */
+    public ScaledImageChain(BufferedImage source, int minSize, int maxSize, int steps) {
+        sizes = new int[steps];
+        icons = new ImageIcon[steps];
+        // Successive halvings of the source, shared by all sizes
+        List<BufferedImage> halvings = new ArrayList<>();
+        halvings.add(source);
+        BufferedImage reduced = source;
+        while (reduced.getWidth() >= 2 * minSize && reduced.getHeight() >= 2 * minSize) {
+            reduced = scale(reduced, reduced.getWidth() / 2, reduced.getHeight() / 2);
+            halvings.add(reduced);
+        }
+        for (int i = 0; i < steps; i++) {
+            int size = minSize + (maxSize - minSize) * i / (steps - 1);
+            // Smallest halving still at least as large as the target
+            BufferedImage base = source;
+            for (BufferedImage halving : halvings) {
+                if (halving.getWidth() >= size && halving.getHeight() >= size) {
+                    base = halving;
+                }
+            }
+            sizes[i] = size;
+            icons[i] = new ImageIcon(scale(base, size, size));
+        }
+    }
+
+    public int getStepCount() {
+        return icons.length;
+    }
+
+    public int getSize(int step) {
+        return sizes[step];
+    }
+
+    /**
+     * @return The shared icon for a step; 0 is the smallest.
+     */
+    public ImageIcon getIcon(int step) {
+        return icons[step];
+    }
+
+    private static BufferedImage scale(BufferedImage source, int width, int height) {
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = scaled.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(source, 0, 0, width, height, null);
+        g.dispose();
+        return scaled;
+    }
+}
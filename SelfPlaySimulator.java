@@ -0,0 +1,124 @@
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+/**
+ * Moteur de simulation qui fait jouer des parties de {@link GuessingGame} à des
+ * joueurs automatiques, sur tous les cœurs, afin d'équilibrer les scores de
+ * départ et les pénalités de chaque difficulté à partir de données.
+ * Les parties sont réparties en lots indépendants exécutés sur le pool
+ * fork/join commun ; chaque lot a son propre générateur aléatoire et son propre
+ * {@link SimulationReport}, fusionnés à la fin. Les parties tirent leur graine
+ * de ce générateur : une simulation est reproductible à graine égale.
+ */
+public class SelfPlaySimulator {
+    /** Nombre de parties jouées par lot. */
+    private static final int BATCH_SIZE = 16 * 1024;
+
+    private final long seed;
+
+    /**
+     * Constructeur de la classe SelfPlaySimulator.
+     *
+     * @param seed La graine dont dérivent les générateurs de chaque lot.
+     */
+    public SelfPlaySimulator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Simule un nombre de parties pour une difficulté et une stratégie.
+     *
+     * @param difficulty La difficulté des parties.
+     * @param strategy   La stratégie du joueur automatique.
+     * @param games      Le nombre de parties à simuler.
+     * @return Les distributions des parties simulées.
+     */
+    public SimulationReport simulate(String difficulty, GuessStrategy strategy, int games) {
+        int batches = (games + BATCH_SIZE - 1) / BATCH_SIZE;
+        SplittableRandom[] randoms = GameRandom.split(seed, batches);
+        return IntStream.range(0, batches).parallel()
+                .mapToObj(batch -> {
+                    int count = Math.min(BATCH_SIZE, games - batch * BATCH_SIZE);
+                    return playBatch(difficulty, strategy, count, randoms[batch]);
+                })
+                .reduce(SimulationReport::merge)
+                .orElseGet(SimulationReport::new);
+    }
+
+    /**
+     * Joue un lot de parties sur le thread courant.
+     *
+     * @param difficulty La difficulté des parties.
+     * @param strategy   La stratégie du joueur automatique.
+     * @param games      Le nombre de parties du lot.
+     * @param random     Le générateur aléatoire du lot.
+     * @return Les distributions du lot.
+     */
+    private SimulationReport playBatch(String difficulty, GuessStrategy strategy, int games,
+            RandomGenerator random) {
+        SimulationReport report = new SimulationReport();
+        for (int i = 0; i < games; i++) {
+            GuessingGame game = new GuessingGame(difficulty, random.nextLong());
+            int guesses = play(game, strategy, random);
+            report.record(game.getOutcome(), guesses, game.getCurrentScore());
+        }
+        return report;
+    }
+
+    /**
+     * Joue une partie jusqu'à son issue.
+     *
+     * @param game     Le jeu à jouer.
+     * @param strategy La stratégie du joueur automatique.
+     * @param random   Le générateur aléatoire.
+     * @return Le nombre de suppositions jouées.
+     */
+    static int play(GuessingGame game, GuessStrategy strategy, RandomGenerator random) {
+        int low = game.getMinRange();
+        int high = game.getMaxRange();
+        int guesses = 0;
+        while (!game.isOver()) {
+            for (int t = strategy.thinkTime(random); t > 0 && !game.isOver(); t--) {
+                game.decrementTimeRemaining();
+            }
+            if (game.isOver()) {
+                break;
+            }
+            int guess = strategy.nextGuess(low, high, random);
+            guesses++;
+            GuessResult result = game.evaluateGuess(guess, null);
+            if (result == GuessResult.LOW) {
+                low = Math.max(low, guess + 1);
+            } else if (result == GuessResult.HIGH) {
+                high = Math.min(high, guess - 1);
+            }
+        }
+        return guesses;
+    }
+
+    /**
+     * Lance la simulation pour toutes les difficultés et stratégies et affiche les
+     * distributions obtenues.
+     *
+     * @param args Le nombre de parties par combinaison (1 000 000 par défaut).
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        String[] difficulties = { "Facile", "Moyen", "Difficile", "Extrême" };
+        GuessStrategy[] strategies = {
+                GuessStrategy.binarySearch(),
+                GuessStrategy.random(),
+                GuessStrategy.noisyHuman(0.15, 2, 6)
+        };
+        SelfPlaySimulator simulator = new SelfPlaySimulator(System.nanoTime());
+        for (String difficulty : difficulties) {
+            for (GuessStrategy strategy : strategies) {
+                long start = System.nanoTime();
+                SimulationReport report = simulator.simulate(difficulty, strategy, games);
+                long elapsed = (System.nanoTime() - start) / 1_000_000;
+                System.out.printf("%-10s %-10s %s (%d ms)%n", difficulty, strategy, report, elapsed);
+            }
+        }
+    }
+}
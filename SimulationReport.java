@@ -0,0 +1,137 @@
+/**
+ * Distributions agrégées d'une série de parties simulées : nombre de
+ * suppositions pour gagner, score final et issues des parties.
+ * Une instance n'est pas thread-safe : chaque tâche de simulation remplit la
+ * sienne, puis les rapports sont fusionnés avec {@link #merge(SimulationReport)}.
+ */
+public class SimulationReport {
+    /** Nombre maximal de suppositions suivi individuellement dans l'histogramme. */
+    private static final int MAX_GUESSES = 256;
+    /** Score maximal suivi individuellement dans l'histogramme. */
+    private static final int MAX_SCORE = 1000;
+
+    private final long[] guessesToWin = new long[MAX_GUESSES + 1];
+    private final long[] finalScores = new long[MAX_SCORE + 1];
+    private final long[] outcomes = new long[GameOutcome.values().length];
+    private long games;
+
+    /**
+     * Enregistre le résultat d'une partie.
+     *
+     * @param outcome    L'issue de la partie.
+     * @param guesses    Le nombre de suppositions jouées.
+     * @param finalScore Le score final de la partie.
+     */
+    public void record(GameOutcome outcome, int guesses, int finalScore) {
+        games++;
+        outcomes[outcome.ordinal()]++;
+        if (outcome == GameOutcome.WON) {
+            guessesToWin[Math.min(guesses, MAX_GUESSES)]++;
+            finalScores[Math.max(0, Math.min(finalScore, MAX_SCORE))]++;
+        } else {
+            finalScores[0]++;
+        }
+    }
+
+    /**
+     * Ajoute les résultats d'un autre rapport à celui-ci.
+     *
+     * @param other Le rapport à fusionner.
+     * @return Ce rapport.
+     */
+    public SimulationReport merge(SimulationReport other) {
+        games += other.games;
+        for (int i = 0; i < guessesToWin.length; i++) {
+            guessesToWin[i] += other.guessesToWin[i];
+        }
+        for (int i = 0; i < finalScores.length; i++) {
+            finalScores[i] += other.finalScores[i];
+        }
+        for (int i = 0; i < outcomes.length; i++) {
+            outcomes[i] += other.outcomes[i];
+        }
+        return this;
+    }
+
+    /**
+     * Retourne le nombre de parties simulées.
+     *
+     * @return Le nombre de parties.
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Retourne le nombre de parties terminées avec l'issue spécifiée.
+     *
+     * @param outcome L'issue recherchée.
+     * @return Le nombre de parties.
+     */
+    public long getOutcomeCount(GameOutcome outcome) {
+        return outcomes[outcome.ordinal()];
+    }
+
+    /**
+     * Retourne un percentile du nombre de suppositions pour gagner.
+     *
+     * @param percentile Le percentile, entre 0 et 100.
+     * @return Le nombre de suppositions, ou 0 si aucune partie n'a été gagnée.
+     */
+    public int guessesPercentile(double percentile) {
+        return percentile(guessesToWin, getOutcomeCount(GameOutcome.WON), percentile);
+    }
+
+    /**
+     * Retourne un percentile du score final, parties perdues comprises (score 0).
+     *
+     * @param percentile Le percentile, entre 0 et 100.
+     * @return Le score final.
+     */
+    public int scorePercentile(double percentile) {
+        return percentile(finalScores, games, percentile);
+    }
+
+    /**
+     * Retourne le score final moyen, parties perdues comprises.
+     *
+     * @return Le score final moyen.
+     */
+    public double meanScore() {
+        double total = 0;
+        for (int i = 0; i < finalScores.length; i++) {
+            total += (double) i * finalScores[i];
+        }
+        return games == 0 ? 0 : total / games;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "parties=%d gagnées=%.1f%% temps écoulé=%.1f%% game over=%.1f%% | "
+                        + "suppositions p50=%d p90=%d p99=%d | score moyen=%.1f p10=%d p50=%d p90=%d",
+                games,
+                rate(GameOutcome.WON), rate(GameOutcome.TIME_UP), rate(GameOutcome.GAME_OVER),
+                guessesPercentile(50), guessesPercentile(90), guessesPercentile(99),
+                meanScore(), scorePercentile(10), scorePercentile(50), scorePercentile(90));
+    }
+
+    private double rate(GameOutcome outcome) {
+        return games == 0 ? 0 : 100.0 * getOutcomeCount(outcome) / games;
+    }
+
+    private static int percentile(long[] histogram, long total, double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= Math.max(1, target)) {
+                return i;
+            }
+        }
+        return histogram.length - 1;
+    }
+}
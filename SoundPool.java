@@ -0,0 +1,169 @@
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.Clip;
+import javax.sound.sampled.FloatControl;
+import javax.sound.sampled.LineUnavailableException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Sound effects and music played from clips opened once and reused. Each sound
+ * is decoded once by the {@link AssetManager} and gets a small pool of open
+ * clips, its voices: playing restarts a free voice, or the one that started
+ * first when all are busy, so a sound never plays more than its voice count at
+ * once and no line is acquired while playing. All clip work runs on a single
+ * background thread, never on the EDT. Sounds that cannot be loaded are
+ * silently ignored.
+ */
+public class SoundPool {
+    private final ExecutorService audioThread = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sound-pool");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Only touched by the audio thread
+    private final Map<String, Voices> sounds = new HashMap<>();
+
+    private static final class Voices {
+        final Clip[] clips;
+        // Order in which the voices were last started, to steal the oldest
+        final long[] started;
+        long starts;
+
+        Voices(Clip[] clips) {
+            this.clips = clips;
+            this.started = new long[clips.length];
+        }
+    }
+
+    /**
+     * Decodes a sound (if not done yet) and opens its voices, in the background.
+     *
+     * @param path   Path of the sound file.
+     * @param voices Maximum number of simultaneous plays.
+     * @param gainDb Gain applied to every voice, in decibels; clamped to what
+     *               the line supports.
+     */
+    public void load(String path, int voices, float gainDb) {
+        audioThread.execute(() -> open(path, voices, gainDb));
+    }
+
+    /**
+     * Plays a sound once from the beginning.
+     */
+    public void play(String path) {
+        audioThread.execute(() -> start(path, false));
+    }
+
+    /**
+     * Plays a sound over and over until stopped; does nothing if it is already looping.
+     */
+    public void loop(String path) {
+        audioThread.execute(() -> start(path, true));
+    }
+
+    /**
+     * Stops every voice of a sound.
+     */
+    public void stop(String path) {
+        audioThread.execute(() -> {
+            Voices voices = sounds.get(path);
+            if (voices != null) {
+                for (Clip clip : voices.clips) {
+                    clip.stop();
+                }
+            }
+        });
+    }
+
+    /**
+     * Closes every clip and stops the audio thread.
+     */
+    public void close() {
+        audioThread.execute(() -> {
+            for (Voices voices : sounds.values()) {
+                if (voices != null) {
+                    for (Clip clip : voices.clips) {
+                        clip.close();
+                    }
+                }
+            }
+            sounds.clear();
+        });
+        audioThread.shutdown();
+    }
+
+    private Voices open(String path, int count, float gainDb) {
+        if (sounds.containsKey(path)) {
+            return sounds.get(path);
+        }
+        Voices voices = null;
+        AssetManager.Sound sound = AssetManager.sound(path);
+        if (sound != null) {
+            Clip[] clips = new Clip[count];
+            try {
+                for (int i = 0; i < count; i++) {
+                    clips[i] = AudioSystem.getClip();
+                    clips[i].open(sound.getFormat(), sound.getData(), 0, sound.getData().length);
+                    setGain(clips[i], gainDb);
+                }
+                voices = new Voices(clips);
+            } catch (LineUnavailableException | IllegalArgumentException e) {
+                e.printStackTrace();
+                for (Clip clip : clips) {
+                    if (clip != null) {
+                        clip.close();
+                    }
+                }
+            }
+        }
+        // Remember failures too, so a missing sound is looked up only once
+        sounds.put(path, voices);
+        return voices;
+    }
+
+    private void start(String path, boolean loop) {
+        Voices voices = sounds.containsKey(path) ? sounds.get(path) : open(path, 1, 0f);
+        if (voices == null) {
+            return;
+        }
+        Clip[] clips = voices.clips;
+        int voice = -1;
+        int oldest = 0;
+        for (int i = 0; i < clips.length; i++) {
+            if (clips[i].isRunning()) {
+                if (loop) {
+                    return;
+                }
+                if (voices.started[i] < voices.started[oldest]) {
+                    oldest = i;
+                }
+            } else if (voice < 0) {
+                voice = i;
+            }
+        }
+        if (voice < 0) {
+            // Every voice is busy: restart the one that has played the longest
+            voice = oldest;
+        }
+        Clip clip = clips[voice];
+        voices.started[voice] = ++voices.starts;
+        clip.stop();
+        clip.setFramePosition(0);
+        if (loop) {
+            clip.loop(Clip.LOOP_CONTINUOUSLY);
+        } else {
+            clip.start();
+        }
+    }
+
+    private static void setGain(Clip clip, float gainDb) {
+        if (gainDb == 0f || !clip.isControlSupported(FloatControl.Type.MASTER_GAIN)) {
+            return;
+        }
+        FloatControl gainControl = (FloatControl) clip.getControl(FloatControl.Type.MASTER_GAIN);
+        gainControl.setValue(Math.max(gainControl.getMinimum(),
+                Math.min(gainControl.getMaximum(), gainControl.getValue() + gainDb)));
+    }
+}
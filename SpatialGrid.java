@@ -0,0 +1,126 @@
+import java.util.Arrays;
+
+/**
+ * Uniform grid over the background panel, indexing particles by cell so that
+ * neighbourhood queries only visit nearby particles.
+ * Each cell holds an intrusive doubly linked list of particle indices stored in
+ * int arrays. The grid is maintained incrementally: after a physics step only
+ * the particles that crossed a cell border are unlinked and relinked.
+ */
+public class SpatialGrid {
+    static final int NONE = -1;
+
+    private final float cellSize;
+    private final float inverseCellSize;
+    private int columns;
+    private int rows;
+
+    // First particle of each cell
+    int[] head = new int[0];
+    // Per-particle links and current cell
+    final int[] next;
+    private final int[] previous;
+    private final int[] cellOf;
+
+    public SpatialGrid(float cellSize, int capacity) {
+        this.cellSize = cellSize;
+        this.inverseCellSize = 1f / cellSize;
+        next = new int[capacity];
+        previous = new int[capacity];
+        cellOf = new int[capacity];
+        Arrays.fill(cellOf, NONE);
+    }
+
+    /**
+     * Re-dimensions the grid for a panel and re-inserts every particle.
+     */
+    public void rebuild(int panelWidth, int panelHeight, float[] x, float[] y, int count) {
+        columns = Math.max(1, (int) Math.ceil(panelWidth * inverseCellSize));
+        rows = Math.max(1, (int) Math.ceil(panelHeight * inverseCellSize));
+        if (head.length < columns * rows) {
+            head = new int[columns * rows];
+        }
+        Arrays.fill(head, NONE);
+        Arrays.fill(cellOf, NONE);
+        for (int i = 0; i < count; i++) {
+            link(i, cellAt(x[i], y[i]));
+        }
+    }
+
+    /**
+     * Moves the particles that changed cell since the last update.
+     */
+    public void update(float[] x, float[] y, int count) {
+        for (int i = 0; i < count; i++) {
+            int cell = cellAt(x[i], y[i]);
+            if (cell != cellOf[i]) {
+                unlink(i);
+                link(i, cell);
+            }
+        }
+    }
+
+    public int columnOf(float x) {
+        return clamp((int) (x * inverseCellSize), columns);
+    }
+
+    public int rowOf(float y) {
+        return clamp((int) (y * inverseCellSize), rows);
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Returns the first particle of a cell, then follow {@link #next}.
+     */
+    public int first(int column, int row) {
+        return head[row * columns + column];
+    }
+
+    private int cellAt(float x, float y) {
+        return rowOf(y) * columns + columnOf(x);
+    }
+
+    private static int clamp(int value, int size) {
+        return value < 0 ? 0 : (value >= size ? size - 1 : value);
+    }
+
+    private void link(int i, int cell) {
+        int first = head[cell];
+        next[i] = first;
+        previous[i] = NONE;
+        if (first != NONE) {
+            previous[first] = i;
+        }
+        head[cell] = i;
+        cellOf[i] = cell;
+    }
+
+    private void unlink(int i) {
+        int cell = cellOf[i];
+        if (cell == NONE) {
+            return;
+        }
+        int before = previous[i];
+        int after = next[i];
+        if (before != NONE) {
+            next[before] = after;
+        } else {
+            head[cell] = after;
+        }
+        if (after != NONE) {
+            previous[after] = before;
+        }
+        cellOf[i] = NONE;
+    }
+}
@@ -0,0 +1,73 @@
+import java.lang.management.ManagementFactory;
+
+/**
+ * Start-up milestones, in milliseconds since the JVM started: when
+ * {@code main} runs, when the first (lightweight) frame is painted, and when
+ * the welcome screen is fully built. With {@code -Dstartup.report=true} they
+ * are printed once the welcome screen is ready; with
+ * {@code -Dstartup.exitWhenReady=true} the application exits at that point,
+ * which is how start-up is benchmarked and how the class-data-sharing archive
+ * is trained (see {@code scripts/}).
+ */
+public final class StartupMetrics {
+    private static volatile long mainTime;
+    private static volatile long firstPaintTime;
+    private static volatile long readyTime;
+
+    private StartupMetrics() {
+    }
+
+    public static void mainStarted() {
+        mainTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Records the first paint; later calls are ignored.
+     */
+    public static void firstPaint() {
+        if (firstPaintTime == 0) {
+            firstPaintTime = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Records that the welcome screen is ready, then reports and exits if requested.
+     */
+    public static void ready() {
+        if (readyTime != 0) {
+            return;
+        }
+        readyTime = System.currentTimeMillis();
+        if (Boolean.getBoolean("startup.report")) {
+            System.out.println(report());
+        }
+        if (Boolean.getBoolean("startup.exitWhenReady")) {
+            System.exit(0);
+        }
+    }
+
+    /**
+     * @return Milliseconds from JVM start to the first paint, or -1 if not painted yet.
+     */
+    public static long getTimeToFirstFrame() {
+        return firstPaintTime == 0 ? -1 : firstPaintTime - jvmStartTime();
+    }
+
+    /**
+     * @return One line with every milestone recorded so far.
+     */
+    public static String report() {
+        long start = jvmStartTime();
+        return "startup: main=" + since(start, mainTime) + "ms firstFrame=" + since(start, firstPaintTime)
+                + "ms ready=" + since(start, readyTime) + "ms";
+    }
+
+    private static long since(long start, long time) {
+        return time == 0 ? -1 : time - start;
+    }
+
+    private static long jvmStartTime() {
+        // Loads the management classes, so only called when reporting
+        return ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+}
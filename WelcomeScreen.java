@@ -2,42 +2,141 @@ import java.awt.*;
 import java.awt.event.*;
 import java.io.File;
 import java.io.IOException;
-import javax.sound.sampled.*;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import javax.swing.*;
 
 /**
  * The WelcomeScreen class represents the initial screen of the "JUSTE PRIX"
  * game.
- * It is responsible for displaying the welcome screen, handling music and sound
+ * It is responsible for displaying the welcome screen, handling sound
  * effects,
  * and managing the game's user interface for starting the game, changing
  * settings, and saving/loading data.
  */
 public class WelcomeScreen extends JFrame {
-    private Clip musicClip;
+    private final SoundPool sounds = new SoundPool();
     private boolean isMuted = false;
     private JButton soundButton;
-    private Clip hoverSoundClip;
     public PlayerUser playerData;
     public GuessingGame gameData;
     public JLabel playerLabel;
+    private GuessJournal journal;
+    private Leaderboard leaderboard;
+    private final AnimationController animations = new AnimationController(this);
+    private BackgroundPanel animatedBackground;
+    private final AsyncPersistence persistence = new AsyncPersistence();
+    private AsyncPersistence.Task pendingLoad;
+    // Latest save request; only its outcome is shown
+    private long saveRequests;
+
+    private static final String JOURNAL_FILE = "player.journal";
+    private static final String SAVE_FILE = "player.txt";
+    private static final String LEADERBOARD_FILE = "leaderboard.dat";
+    // Up to two overlapping hover sounds, played louder than recorded
+    private static final int HOVER_VOICES = 2;
+    private static final float HOVER_GAIN_DB = 10.0f;
 
     /**
-     * Constructs a new WelcomeScreen instance and initializes the components.
+     * Constructs a new WelcomeScreen instance. A lightweight frame is shown
+     * right away; the components are built once the assets are loaded.
      */
     public WelcomeScreen() {
+        sounds.load(AssetManager.WELCOME_SOUND, HOVER_VOICES, HOVER_GAIN_DB);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                // Finish pending saves before the files are closed
+                persistence.close();
+                sounds.close();
+                animations.disposeAll();
+                closeJournal();
+            }
+        });
+        showSplash();
+        // F12 shows frame rate, EDT latency and allocation rate over the window
+        PerformanceOverlay.install(this, () -> animatedBackground != null && animatedBackground.isShowing()
+                ? animatedBackground.getFrameStats() : null, EdtWatchdog.getInstalled());
+        // Build the real screen once its fonts and images are loaded, without blocking the EDT
+        AssetManager.preload().whenComplete((ignored, error) -> SwingUtilities.invokeLater(this::finishStartup));
+    }
+
+    /**
+     * Shows the title on a plain white frame. It only uses standard Swing
+     * components and fonts, so it appears before any asset is loaded.
+     */
+    private void showSplash() {
+        setTitle("JUSTE PRIX");
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        setExtendedState(JFrame.MAXIMIZED_BOTH);
+
+        JPanel splashPanel = new JPanel(new BorderLayout()) {
+            @Override
+            protected void paintComponent(Graphics g) {
+                super.paintComponent(g);
+                StartupMetrics.firstPaint();
+            }
+        };
+        splashPanel.setBackground(Color.WHITE);
+        JLabel titleLabel = new JLabel("JUSTE PRIX", SwingConstants.CENTER);
+        titleLabel.setFont(new Font("SansSerif", Font.BOLD, 48));
+        titleLabel.setForeground(new Color(0x374595));
+        splashPanel.add(titleLabel, BorderLayout.CENTER);
+        setContentPane(splashPanel);
+        setVisible(true);
+    }
+
+    /**
+     * Replaces the splash with the welcome screen, then opens the leaderboard
+     * and resumes an unfinished game, if any.
+     */
+    private void finishStartup() {
         initComponents();
+        revalidate();
+        repaint();
+        openLeaderboard();
+        openJournal();
+        StartupMetrics.ready();
+    }
+
+    /**
+     * Opens the persistent leaderboard and attaches it to the current player.
+     */
+    private void openLeaderboard() {
+        try {
+            leaderboard = Leaderboard.open(Paths.get(LEADERBOARD_FILE));
+            playerData.setLeaderboard(leaderboard);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Opens the crash-recovery journal and resumes the last unfinished game it
+     * contains, if any.
+     */
+    private void openJournal() {
+        Path journalPath = Paths.get(JOURNAL_FILE);
+        try {
+            GuessingGame recovered = GuessJournal.recover(journalPath, playerData);
+            journal = new GuessJournal(journalPath, GuessJournal.DEFAULT_COMMIT_INTERVAL_MS);
+            if (recovered != null) {
+                gameData = recovered;
+                openGameScreen(gameData.getDifficulty());
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
     }
 
     /**
-     * Displays the welcome screen and starts the background music.
+     * Displays the welcome screen.
      */
     public void showWelcomeScreen() {
         getContentPane().removeAll();
         initComponents();
         revalidate();
         repaint();
-        startMusic();
     }
 
     /**
@@ -52,11 +151,28 @@ public class WelcomeScreen extends JFrame {
 
         BackgroundPanel backgroundPanel = new BackgroundPanel();
         backgroundPanel.setLayout(new BorderLayout());
+        animatedBackground = backgroundPanel;
+        animations.register(backgroundPanel, new AnimationController.Animation() {
+            @Override
+            public void pause() {
+                backgroundPanel.pauseAnimation();
+            }
+
+            @Override
+            public void resume() {
+                backgroundPanel.resumeAnimation();
+            }
+
+            @Override
+            public void dispose() {
+                backgroundPanel.stopAnimation();
+            }
+        });
         setContentPane(backgroundPanel);
 
-        Font titleFont = loadFont("font/Magic_Sound.ttf", 48f);
-        Font playerFont = loadFont("font/MagicNeys.otf", 48f);
-        Font instructionFont = loadFont("font/DK.otf", 24f);
+        Font titleFont = AssetManager.font(AssetManager.TITLE_FONT, 48f);
+        Font playerFont = AssetManager.font(AssetManager.PLAYER_FONT, 48f);
+        Font instructionFont = AssetManager.font(AssetManager.DK_FONT, 24f);
         Font buttonFont = instructionFont;
 
         Color backgroundColor = Color.WHITE;
@@ -89,11 +205,9 @@ public class WelcomeScreen extends JFrame {
             @Override
             public void actionPerformed(ActionEvent e) {
                 if (isMuted) {
-                    startMusic();
-                    soundButton.setText("🔊");
                     isMuted = false;
+                    soundButton.setText("🔊");
                 } else {
-                    stopMusic();
                     soundButton.setText("🔇");
                     isMuted = true;
                 }
@@ -181,7 +295,8 @@ public class WelcomeScreen extends JFrame {
                 button.addActionListener(new ActionListener() {
                     @Override
                     public void actionPerformed(ActionEvent e) {
-                        System.exit(0);
+                        // Same path as the close button: pending saves and the journal are flushed first
+                        dispatchEvent(new WindowEvent(WelcomeScreen.this, WindowEvent.WINDOW_CLOSING));
                     }
                 });
             }
@@ -214,19 +329,37 @@ public class WelcomeScreen extends JFrame {
                         if (userSelection == JFileChooser.APPROVE_OPTION) {
                             File selectedFile = fileChooser.getSelectedFile();
 
-                            try {
-                                gameData = GuessingGame.loadGame(playerData, selectedFile.getAbsolutePath());
-                                if (!gameData.getDifficulty().equals("none")) {
-                                    openGameScreen(gameData.getDifficulty());
-                                }
-                                playerLabel.setFont(playerFont);
-                                playerLabel.setText(
-                                        "Joueur: " + playerData.getNickName() + " | Score: " + playerData.getScore());
-                            } catch (IOException e1) {
-                                e1.printStackTrace();
-                            } catch (ClassNotFoundException e1) {
-                                e1.printStackTrace();
+                            // Read in the background; a newer choice replaces a load still running
+                            if (pendingLoad != null) {
+                                pendingLoad.cancel();
                             }
+                            pendingLoad = persistence.load(selectedFile.getAbsolutePath(),
+                                    new AsyncPersistence.Callback<AsyncPersistence.LoadedGame>() {
+                                        @Override
+                                        public void onSuccess(AsyncPersistence.LoadedGame loaded) {
+                                            pendingLoad = null;
+                                            playerData.setNickName(loaded.getPlayer().getNickName());
+                                            playerData.setScore(loaded.getPlayer().getScore());
+                                            gameData = loaded.getGame();
+                                            if (!gameData.getDifficulty().equals("none")) {
+                                                openGameScreen(gameData.getDifficulty());
+                                            } else {
+                                                playerLabel.setFont(playerFont);
+                                                playerLabel.setText("Joueur: " + playerData.getNickName()
+                                                        + " | Score: " + playerData.getScore());
+                                            }
+                                        }
+
+                                        @Override
+                                        public void onFailure(Exception error) {
+                                            pendingLoad = null;
+                                            System.err.println("Could not load the game from " + selectedFile + ": "
+                                                    + error);
+                                            JOptionPane.showMessageDialog(WelcomeScreen.this,
+                                                    "Le chargement a échoué : " + error.getMessage(),
+                                                    "Charger une partie", JOptionPane.ERROR_MESSAGE);
+                                        }
+                                    });
                         }
                     }
                 });
@@ -235,11 +368,7 @@ public class WelcomeScreen extends JFrame {
                 button.addActionListener(new ActionListener() {
                     @Override
                     public void actionPerformed(ActionEvent e) {
-                        try {
-                            gameData.saveGame(playerData, "player.txt");
-                        } catch (IOException e1) {
-                            e1.printStackTrace();
-                        }
+                        saveGame(gameData);
                     }
                 });
             }
@@ -259,22 +388,23 @@ public class WelcomeScreen extends JFrame {
         JPanel bottomPanel = new JPanel(new BorderLayout());
         bottomPanel.setOpaque(false);
 
-        ImageIcon icon = new ImageIcon("Assets/presentateur.png");
-        Image image = icon.getImage().getScaledInstance(250, 250, Image.SCALE_SMOOTH);
-        JLabel imageLabel = new JLabel(new ImageIcon(image));
+        // Pre-scaled from 250 to 300 px, the label zooms through them on hover
+        ScaledImageChain presenter = AssetManager.imageChain(AssetManager.PRESENTER_IMAGE,
+                AssetManager.PRESENTER_MIN_SIZE, AssetManager.PRESENTER_MAX_SIZE, AssetManager.PRESENTER_ZOOM_STEPS);
+        JLabel imageLabel = presenter != null ? new HoverZoomLabel(presenter) : new JLabel();
+        if (imageLabel instanceof HoverZoomLabel) {
+            animations.register(imageLabel, ((HoverZoomLabel) imageLabel)::stopAnimation);
+        }
 
         imageLabel.addMouseListener(new MouseAdapter() {
             @Override
             public void mouseEntered(MouseEvent e) {
                 playHoverSound();
-                ImageIcon enlargedIcon = new ImageIcon(icon.getImage().getScaledInstance(300, 300, Image.SCALE_SMOOTH));
-                imageLabel.setIcon(enlargedIcon);
             }
 
             @Override
             public void mouseExited(MouseEvent e) {
                 stopHoverSound();
-                imageLabel.setIcon(new ImageIcon(image));
             }
         });
 
@@ -286,26 +416,16 @@ public class WelcomeScreen extends JFrame {
         bottomPanel.add(imageContainer, BorderLayout.WEST);
         backgroundPanel.add(bottomPanel, BorderLayout.SOUTH);
 
-        startMusic();
-
-        addWindowListener(new WindowAdapter() {
-            @Override
-            public void windowClosing(WindowEvent e) {
-                stopMusic();
-            }
-        });
-
         setVisible(true);
     }
 
     /**
      * Opens the game screen with the selected difficulty level.
-     * It stops the welcome screen music and transitions to the game screen.
+     * It transitions to the game screen.
      *
      * @param difficulty The difficulty level for the game.
      */
     private void openGameScreen(String difficulty) {
-        stopMusic();
         getContentPane().removeAll();
         GameScreen gameScreen = new GameScreen(difficulty, this);
         setContentPane(gameScreen);
@@ -314,94 +434,117 @@ public class WelcomeScreen extends JFrame {
     }
 
     /**
-     * Starts the background music for the welcome screen.
-     * If music is already playing, it does nothing.
+     * Plays the hover sound effect when the user hovers over specific UI elements.
+     * The sound will only play if the sound is not muted.
      */
-    private void startMusic() {
-        try {
-            AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(new File("Assets/generique.wav"));
-            musicClip = AudioSystem.getClip();
-            // musicClip.open(audioInputStream);
-            // musicClip.loop(Clip.LOOP_CONTINUOUSLY);
-            // musicClip.start();
-        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException e) {
-            e.printStackTrace();
-        }
+    private void playHoverSound() {
+        if (isMuted)
+            return;
+        sounds.play(AssetManager.WELCOME_SOUND);
     }
 
     /**
-     * Stops the background music if it's currently playing.
+     * Stops the hover sound effect if it's currently playing.
      */
-    private void stopMusic() {
-        if (musicClip != null && musicClip.isRunning()) {
-            musicClip.stop();
-            musicClip.close();
-        }
+    private void stopHoverSound() {
+        sounds.stop(AssetManager.WELCOME_SOUND);
     }
 
     /**
-     * Plays the hover sound effect when the user hovers over specific UI elements.
-     * The sound will only play if the music is not muted.
+     * Main method to run the application. It starts it the same way as
+     * {@link Main#main(String[])}.
      */
-    private void playHoverSound() {
-        if (isMuted)
-            return;
-        try {
-            AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(new File("Assets/bienvenue.wav"));
-            hoverSoundClip = AudioSystem.getClip();
-            hoverSoundClip.open(audioInputStream);
-
-            FloatControl gainControl = (FloatControl) hoverSoundClip.getControl(FloatControl.Type.MASTER_GAIN);
-            float increaseAmount = 10.0f;
-            float newGain = Math.min(gainControl.getMaximum(), gainControl.getValue() + increaseAmount);
-            gainControl.setValue(newGain);
+    public static void main(String[] args) {
+        Main.main(args);
+    }
 
-            hoverSoundClip.start();
-        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException e) {
-            e.printStackTrace();
-        } catch (IllegalArgumentException e) {
-            System.err.println("Gain control not supported for hover sound.");
-        }
+    /**
+     * Gets the crash-recovery journal of the current game.
+     *
+     * @return The journal, or null if it could not be opened.
+     */
+    public GuessJournal getJournal() {
+        return journal;
     }
 
     /**
-     * Stops the hover sound effect if it's currently playing.
+     * Gets the persistent leaderboard.
+     *
+     * @return The leaderboard, or null if it could not be opened.
      */
-    private void stopHoverSound() {
-        if (hoverSoundClip != null && hoverSoundClip.isRunning()) {
-            hoverSoundClip.stop();
-            hoverSoundClip.close();
-        }
+    public Leaderboard getLeaderboard() {
+        return leaderboard;
     }
 
     /**
-     * Loads a custom font from a specified file path.
+     * Gets the executor that saves and loads games off the EDT.
      *
-     * @param fontPath The file path to the font.
-     * @param size     The desired font size.
-     * @return A Font object representing the loaded font.
+     * @return The persistence executor.
      */
-    private Font loadFont(String fontPath, float size) {
-        try {
-            Font font = Font.createFont(Font.TRUETYPE_FONT, new File(fontPath));
-            GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-            ge.registerFont(font);
-            return font.deriveFont(size);
-        } catch (FontFormatException | IOException e) {
-            e.printStackTrace();
-            return new Font("SansSerif", Font.PLAIN, (int) size);
-        }
+    public AsyncPersistence getPersistence() {
+        return persistence;
     }
 
     /**
-     * Main method to run the application. It initializes the WelcomeScreen class.
+     * Saves a game and the current player in the background, then tells the
+     * user whether it worked. Repeated clicks are merged into one write, which
+     * is reported once.
+     *
+     * @param game The game to save.
      */
-    public static void main(String[] args) {
-        SwingUtilities.invokeLater(() -> {
-            new WelcomeScreen();
+    public void saveGame(GuessingGame game) {
+        long request = ++saveRequests;
+        persistence.save(game, playerData, SAVE_FILE, new AsyncPersistence.Callback<Void>() {
+            @Override
+            public void onSuccess(Void result) {
+                if (request == saveRequests) {
+                    JOptionPane.showMessageDialog(WelcomeScreen.this, "Partie sauvegardée.", "Sauvegarder",
+                            JOptionPane.INFORMATION_MESSAGE);
+                }
+            }
+
+            @Override
+            public void onFailure(Exception error) {
+                System.err.println("Could not save the game to " + SAVE_FILE + ": " + error);
+                if (request == saveRequests) {
+                    JOptionPane.showMessageDialog(WelcomeScreen.this,
+                            "La sauvegarde a échoué : " + error.getMessage(), "Sauvegarder",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            }
         });
     }
 
+    /**
+     * Gets the controller owning the animations and timers of this window.
+     *
+     * @return The animation controller.
+     */
+    public AnimationController getAnimations() {
+        return animations;
+    }
+
+    /**
+     * Flushes and closes the crash-recovery journal and the leaderboard.
+     */
+    private void closeJournal() {
+        // Closed separately, so a failure of one does not skip the other
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                System.err.println("Could not close the guess journal: " + e);
+            }
+        }
+        if (leaderboard != null) {
+            try {
+                leaderboard.close();
+            } catch (IOException e) {
+                System.err.println("Could not close the leaderboard: " + e);
+            }
+        }
+    }
+
     /**
      * Sets the player data for the current session.
      *
@@ -0,0 +1,54 @@
+import java.awt.Graphics2D;
+import java.awt.event.ComponentEvent;
+import java.awt.image.BufferedImage;
+
+import perf.BackgroundHarness;
+
+/**
+ * Sizes a detached BackgroundPanel and paints it into an offscreen image.
+ */
+public class BackgroundHarnessImpl implements BackgroundHarness {
+    private BackgroundPanel panel;
+    private ParticleSystem particles;
+    private Graphics2D graphics;
+    private int width;
+    private int height;
+
+    @Override
+    public void setUp(int width, int height, int particleCount) {
+        this.width = width;
+        this.height = height;
+        panel = new BackgroundPanel(particleCount);
+        panel.stopAnimation();
+        panel.setSize(width, height);
+        panel.dispatchEvent(new ComponentEvent(panel, ComponentEvent.COMPONENT_RESIZED));
+        particles = panel.getParticles();
+
+        graphics = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB).createGraphics();
+    }
+
+    @Override
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    @Override
+    public void updatePosition() {
+        particles.updatePositions(width, height);
+    }
+
+    @Override
+    public void applyMouseRepulsion() {
+        particles.applyMouseRepulsion(width / 2, height / 2);
+    }
+
+    @Override
+    public void separate() {
+        particles.separate();
+    }
+
+    @Override
+    public void paintComponent() {
+        panel.paintComponent(graphics);
+    }
+}
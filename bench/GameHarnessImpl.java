@@ -0,0 +1,48 @@
+import perf.GameHarness;
+
+/**
+ * Cycles through every value of the game's range so each call hits a mix of
+ * LOW, HIGH and CORRECT outcomes. A game that ends is replaced, since an ended
+ * game ignores further guesses.
+ */
+public class GameHarnessImpl implements GameHarness {
+    private String difficulty;
+    private GuessingGame game;
+    private PlayerUser player;
+    private String[] inputs;
+    private int[] guesses;
+    private int cursor;
+
+    @Override
+    public void setUp(String difficulty) {
+        this.difficulty = difficulty;
+        game = new GuessingGame(difficulty);
+        player = new PlayerUser("bench", 0);
+        int span = game.getMaxRange() - game.getMinRange() + 1;
+        guesses = new int[span];
+        inputs = new String[span];
+        for (int i = 0; i < span; i++) {
+            guesses[i] = game.getMinRange() + i;
+            inputs[i] = game.formatNumber(guesses[i]);
+        }
+    }
+
+    @Override
+    public Object evaluateGuess() {
+        int i = cursor++ % guesses.length;
+        return currentGame().evaluateGuess(guesses[i], player);
+    }
+
+    @Override
+    public Object checkGuess() {
+        int i = cursor++ % inputs.length;
+        return currentGame().checkGuess(inputs[i], player);
+    }
+
+    private GuessingGame currentGame() {
+        if (game.isOver()) {
+            game = new GuessingGame(difficulty);
+        }
+        return game;
+    }
+}
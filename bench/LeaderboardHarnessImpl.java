@@ -0,0 +1,53 @@
+import java.io.File;
+import java.io.IOException;
+
+import perf.LeaderboardHarness;
+
+/**
+ * Fills a temp leaderboard file with players, then opens it again (which
+ * rebuilds the indexes) or updates scores of random players in it.
+ */
+public class LeaderboardHarnessImpl implements LeaderboardHarness {
+    private File file;
+    private Leaderboard leaderboard;
+    private int players;
+    private int cursor;
+
+    @Override
+    public void setUp(int players) throws IOException {
+        this.players = players;
+        file = File.createTempFile("bench-leaderboard", ".dat");
+        file.delete();
+        try (Leaderboard filled = Leaderboard.open(file.toPath())) {
+            for (int i = 0; i < players; i++) {
+                filled.record("player" + i, i % 10_000);
+            }
+        }
+        leaderboard = Leaderboard.open(file.toPath());
+    }
+
+    @Override
+    public void tearDown() throws IOException {
+        leaderboard.close();
+        file.delete();
+    }
+
+    @Override
+    public Object open() throws IOException {
+        try (Leaderboard opened = Leaderboard.open(file.toPath())) {
+            return opened.size();
+        }
+    }
+
+    @Override
+    public void record() {
+        cursor = cursor * 1_103_515_245 + 12_345;
+        int player = (cursor >>> 1) % players;
+        leaderboard.record("player" + player, cursor & 0xFFFF);
+    }
+
+    @Override
+    public Object top() {
+        return leaderboard.top(10);
+    }
+}
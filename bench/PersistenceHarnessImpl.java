@@ -0,0 +1,54 @@
+import java.io.File;
+import java.io.IOException;
+
+import perf.PersistenceHarness;
+
+/**
+ * Saves a game with a partially filled guess history, as a real session would
+ * have after a few minutes of play.
+ */
+public class PersistenceHarnessImpl implements PersistenceHarness {
+    private GuessingGame game;
+    private PlayerUser player;
+    private File gameFile;
+    private File playerFile;
+
+    @Override
+    public void setUp() throws IOException {
+        game = new GuessingGame("Difficile");
+        player = new PlayerUser("bench", 0);
+        for (int guess = game.getMinRange(); guess <= game.getMaxRange(); guess += 7) {
+            game.evaluateGuess(guess, player);
+        }
+        gameFile = File.createTempFile("bench-game", ".sav");
+        playerFile = File.createTempFile("bench-player", ".txt");
+        game.saveGame(player, gameFile.getPath());
+        player.exportToFile(playerFile.getPath());
+    }
+
+    @Override
+    public void tearDown() {
+        gameFile.delete();
+        playerFile.delete();
+    }
+
+    @Override
+    public void saveGame() throws IOException {
+        game.saveGame(player, gameFile.getPath());
+    }
+
+    @Override
+    public Object loadGame() throws Exception {
+        return GuessingGame.loadGame(player, gameFile.getPath());
+    }
+
+    @Override
+    public void exportPlayer() throws IOException {
+        player.exportToFile(playerFile.getPath());
+    }
+
+    @Override
+    public Object importPlayer() throws IOException {
+        return PlayerUser.importFromFile(playerFile.getPath());
+    }
+}
@@ -0,0 +1,55 @@
+package perf;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks the animated background: particle physics (grid-accelerated mouse
+ * repulsion and separation) and an offscreen paint of the whole panel, at the
+ * default and at a wall-display particle count. Runs headless so it does not
+ * need a display.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class BackgroundBenchmark {
+    @Param({ "30", "10000" })
+    public int particles;
+
+    private BackgroundHarness harness;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        harness = Harnesses.load(BackgroundHarness.class);
+        harness.setUp(1920, 1080, particles);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        harness.tearDown();
+    }
+
+    @Benchmark
+    public void updatePosition() {
+        harness.updatePosition();
+    }
+
+    @Benchmark
+    public void applyMouseRepulsion() {
+        harness.applyMouseRepulsion();
+    }
+
+    @Benchmark
+    public void separate() {
+        harness.separate();
+    }
+
+    @Benchmark
+    public void paintComponent() {
+        harness.paintComponent();
+    }
+}
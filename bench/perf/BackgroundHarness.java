@@ -0,0 +1,18 @@
+package perf;
+
+/**
+ * Drives the animated background physics and an offscreen paint of the panel.
+ */
+public interface BackgroundHarness {
+    void setUp(int width, int height, int particleCount);
+
+    void tearDown();
+
+    void updatePosition();
+
+    void applyMouseRepulsion();
+
+    void separate();
+
+    void paintComponent();
+}
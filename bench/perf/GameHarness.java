@@ -0,0 +1,12 @@
+package perf;
+
+/**
+ * Drives the guess evaluation hot path of a single game.
+ */
+public interface GameHarness {
+    void setUp(String difficulty);
+
+    Object evaluateGuess();
+
+    Object checkGuess();
+}
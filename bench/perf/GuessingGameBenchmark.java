@@ -0,0 +1,38 @@
+package perf;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks the guess evaluation hot path, both the headless int API and the
+ * String API used by the Swing screen.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GuessingGameBenchmark {
+    @Param({ "Facile", "Moyen", "Difficile", "Extrême" })
+    public String difficulty;
+
+    private GameHarness harness;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        harness = Harnesses.load(GameHarness.class);
+        harness.setUp(difficulty);
+    }
+
+    @Benchmark
+    public Object evaluateGuess() {
+        return harness.evaluateGuess();
+    }
+
+    @Benchmark
+    public Object checkGuess() {
+        return harness.checkGuess();
+    }
+}
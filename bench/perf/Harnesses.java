@@ -0,0 +1,18 @@
+package perf;
+
+/**
+ * Loads the harness implementations that live next to the game sources in the
+ * default package, which named packages cannot reference directly.
+ */
+final class Harnesses {
+    private Harnesses() {
+    }
+
+    static <T> T load(Class<T> type) {
+        try {
+            return type.cast(Class.forName(type.getSimpleName() + "Impl").getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Missing harness for " + type.getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package perf;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks opening a leaderboard file, which rebuilds its indexes, and score
+ * updates and top-10 queries on an open one.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LeaderboardBenchmark {
+    @Param({ "100000", "1000000" })
+    public int players;
+
+    private LeaderboardHarness harness;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        harness = Harnesses.load(LeaderboardHarness.class);
+        harness.setUp(players);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        harness.tearDown();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public Object open() throws IOException {
+        return harness.open();
+    }
+
+    @Benchmark
+    public void record() {
+        harness.record();
+    }
+
+    @Benchmark
+    public Object top() {
+        return harness.top();
+    }
+}
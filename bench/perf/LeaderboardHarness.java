@@ -0,0 +1,18 @@
+package perf;
+
+import java.io.IOException;
+
+/**
+ * Drives a leaderboard file holding a given number of players.
+ */
+public interface LeaderboardHarness {
+    void setUp(int players) throws IOException;
+
+    void tearDown() throws IOException;
+
+    Object open() throws IOException;
+
+    void record();
+
+    Object top();
+}
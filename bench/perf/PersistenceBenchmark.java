@@ -0,0 +1,50 @@
+package perf;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks saving and loading games and exporting and importing players.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PersistenceBenchmark {
+    private PersistenceHarness harness;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        harness = Harnesses.load(PersistenceHarness.class);
+        harness.setUp();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        harness.tearDown();
+    }
+
+    @Benchmark
+    public void saveGame() throws IOException {
+        harness.saveGame();
+    }
+
+    @Benchmark
+    public Object loadGame() throws Exception {
+        return harness.loadGame();
+    }
+
+    @Benchmark
+    public void exportPlayer() throws IOException {
+        harness.exportPlayer();
+    }
+
+    @Benchmark
+    public Object importPlayer() throws IOException {
+        return harness.importPlayer();
+    }
+}
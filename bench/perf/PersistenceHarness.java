@@ -0,0 +1,20 @@
+package perf;
+
+import java.io.IOException;
+
+/**
+ * Drives game saves and loads and player exports and imports on temp files.
+ */
+public interface PersistenceHarness {
+    void setUp() throws IOException;
+
+    void tearDown();
+
+    void saveGame() throws IOException;
+
+    Object loadGame() throws Exception;
+
+    void exportPlayer() throws IOException;
+
+    Object importPlayer() throws IOException;
+}
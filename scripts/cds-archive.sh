@@ -0,0 +1,11 @@
+#!/bin/sh
+# Records the classes loaded while the game starts into an AppCDS archive, so
+# later starts map them from the archive instead of loading and verifying them.
+# Run from the repository root after `mvn -B package`; needs a display.
+# The archive only matches this exact jar and JDK: rebuild it after either changes.
+set -e
+JAR=target/guess-number-game-1.0-SNAPSHOT.jar
+ARCHIVE=target/guess-number-game.jsa
+
+java -XX:ArchiveClassesAtExit="$ARCHIVE" -Dstartup.exitWhenReady=true -jar "$JAR"
+echo "Archive written to $ARCHIVE"
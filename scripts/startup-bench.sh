@@ -0,0 +1,20 @@
+#!/bin/sh
+# Cold-start benchmark: starts the game RUNS times (default 10), prints the
+# start-up milestones of each run in milliseconds since JVM start, then the
+# median time to first frame. Uses the AppCDS archive when it exists.
+# Run from the repository root after `mvn -B package`; needs a display.
+RUNS=${1:-10}
+JAR=target/guess-number-game-1.0-SNAPSHOT.jar
+ARCHIVE=target/guess-number-game.jsa
+
+CDS=""
+if [ -f "$ARCHIVE" ]; then
+    CDS="-XX:SharedArchiveFile=$ARCHIVE"
+fi
+
+i=0
+while [ "$i" -lt "$RUNS" ]; do
+    java $CDS -Dstartup.report=true -Dstartup.exitWhenReady=true -jar "$JAR" | grep '^startup:'
+    i=$((i + 1))
+done | tee /dev/stderr | sed 's/.*firstFrame=\([0-9-]*\)ms.*/\1/' | sort -n \
+    | awk '{ v[NR] = $1 } END { if (NR) print "median firstFrame=" v[int((NR + 1) / 2)] "ms over " NR " runs" }'